@@ -0,0 +1,139 @@
+package com.starlwr.bot.core.codec;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 二进制读取器，与 {@link BinaryWriter} 的编码方式对应
+ */
+public class BinaryReader {
+    private final byte[] buffer;
+
+    private int position;
+
+    private final int limit;
+
+    public BinaryReader(byte[] buffer) {
+        this(buffer, 0, buffer.length);
+    }
+
+    /**
+     * @param buffer 字节数组
+     * @param offset 起始位置
+     * @param length 可读取的长度
+     */
+    public BinaryReader(byte[] buffer, int offset, int length) {
+        this.buffer = buffer;
+        this.position = offset;
+        this.limit = offset + length;
+    }
+
+    private void require(int length) {
+        if (length < 0 || length > limit - position) {
+            throw new IllegalArgumentException("二进制数据不完整, 位置: " + position + ", 需要: " + length + " 字节");
+        }
+    }
+
+    /**
+     * 读取单个字节
+     * @return 无符号字节值
+     */
+    public int readByte() {
+        require(1);
+        return buffer[position++] & 0xFF;
+    }
+
+    /**
+     * 读取指定长度的字节数组
+     * @param length 长度
+     * @return 字节数组
+     */
+    public byte[] readBytes(int length) {
+        require(length);
+        byte[] bytes = new byte[length];
+        System.arraycopy(buffer, position, bytes, 0, length);
+        position += length;
+        return bytes;
+    }
+
+    /**
+     * 读取无符号变长整数
+     * @return 整数
+     */
+    public long readUnsignedVarLong() {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("变长整数格式错误, 位置: " + position);
+    }
+
+    /**
+     * 读取有符号变长整数
+     * @return 整数
+     */
+    public long readVarLong() {
+        long value = readUnsignedVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * 读取有符号变长整数
+     * @return 整数
+     */
+    public int readVarInt() {
+        return (int) readVarLong();
+    }
+
+    /**
+     * 读取 8 字节双精度浮点数
+     * @return 浮点数
+     */
+    public double readDouble() {
+        require(8);
+        long bits = 0;
+        for (int i = 0; i < 8; i++) {
+            bits |= (long) (buffer[position++] & 0xFF) << (i * 8);
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    /**
+     * 读取字符串
+     * @return 字符串
+     */
+    public String readString() {
+        int length = readLength();
+        require(length);
+        String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    /**
+     * 读取长度前缀的字节数组
+     * @return 字节数组
+     */
+    public byte[] readByteArray() {
+        return readBytes(readLength());
+    }
+
+    private int readLength() {
+        long length = readUnsignedVarLong();
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("长度超出范围: " + length);
+        }
+        return (int) length;
+    }
+
+    /**
+     * 是否还有未读取的内容
+     * @return 是否还有未读取的内容
+     */
+    public boolean hasRemaining() {
+        return position < limit;
+    }
+}
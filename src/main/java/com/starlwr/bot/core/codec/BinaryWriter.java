@@ -0,0 +1,125 @@
+package com.starlwr.bot.core.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 二进制写入器，整数使用 ZigZag 变长编码，字符串使用长度前缀的 UTF-8 编码
+ */
+public class BinaryWriter {
+    private byte[] buffer;
+
+    private int position;
+
+    public BinaryWriter() {
+        this(128);
+    }
+
+    /**
+     * @param initialCapacity 初始容量，单位：字节
+     */
+    public BinaryWriter(int initialCapacity) {
+        this.buffer = new byte[Math.max(16, initialCapacity)];
+    }
+
+    private void ensureCapacity(int additional) {
+        if (position + additional > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, position + additional));
+        }
+    }
+
+    /**
+     * 写入单个字节
+     * @param value 字节
+     */
+    public void writeByte(int value) {
+        ensureCapacity(1);
+        buffer[position++] = (byte) value;
+    }
+
+    /**
+     * 写入字节数组，不包含长度前缀
+     * @param bytes 字节数组
+     */
+    public void writeBytes(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    /**
+     * 写入无符号变长整数
+     * @param value 整数，按无符号处理
+     */
+    public void writeUnsignedVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    /**
+     * 写入有符号变长整数，使用 ZigZag 编码，绝对值较小的负数同样占用较少字节
+     * @param value 整数
+     */
+    public void writeVarLong(long value) {
+        writeUnsignedVarLong((value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * 写入有符号变长整数
+     * @param value 整数
+     */
+    public void writeVarInt(int value) {
+        writeVarLong(value);
+    }
+
+    /**
+     * 写入 8 字节双精度浮点数
+     * @param value 浮点数
+     */
+    public void writeDouble(double value) {
+        long bits = Double.doubleToRawLongBits(value);
+        ensureCapacity(8);
+        for (int i = 0; i < 8; i++) {
+            buffer[position++] = (byte) (bits >>> (i * 8));
+        }
+    }
+
+    /**
+     * 写入字符串
+     * @param value 字符串，不可为 null
+     */
+    public void writeString(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeUnsignedVarLong(bytes.length);
+        writeBytes(bytes);
+    }
+
+    /**
+     * 写入长度前缀的字节数组
+     * @param bytes 字节数组
+     */
+    public void writeByteArray(byte[] bytes) {
+        writeUnsignedVarLong(bytes.length);
+        writeBytes(bytes);
+    }
+
+    /**
+     * 获取已写入的字节数
+     * @return 字节数
+     */
+    public int size() {
+        return position;
+    }
+
+    /**
+     * 获取已写入内容的副本
+     * @return 字节数组
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+}
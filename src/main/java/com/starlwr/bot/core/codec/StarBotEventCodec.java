@@ -0,0 +1,662 @@
+package com.starlwr.bot.core.codec;
+
+import com.alibaba.fastjson2.JSONB;
+import com.starlwr.bot.core.enums.LivePlatform;
+import com.starlwr.bot.core.event.StarBotExternalBaseEvent;
+import com.starlwr.bot.core.event.live.base.StarBotLiveGiftEvent;
+import com.starlwr.bot.core.event.live.base.StarBotLiveInteractionEvent;
+import com.starlwr.bot.core.event.live.base.StarBotLiveOperationEvent;
+import com.starlwr.bot.core.event.live.base.StarBotLivePurchaseEvent;
+import com.starlwr.bot.core.event.live.common.*;
+import com.starlwr.bot.core.model.EmojiInfo;
+import com.starlwr.bot.core.model.GiftInfo;
+import com.starlwr.bot.core.model.LiveStreamerInfo;
+import com.starlwr.bot.core.model.UserInfo;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * StarBot 事件二进制编解码器，用于事件录制与跨节点传输
+ * <p>
+ * 编码格式: 类型 ID、事件时间戳、直播平台、主播信息、事件字段，整数均使用变长编码，内置直播平台编码为固定的单字节 ID，可为 null 的字段使用存在位标记
+ * 内置事件类型使用 1 至 99 的类型 ID，插件事件类型可通过 {@link #register(int, Class, StarBotEventEncoder)} 注册编码器，建议使用 1000 以上的类型 ID
+ * 未注册编码器的事件类型使用类型 ID 0，按全类名与 JSONB 格式编码，此类事件解码后的事件时间为解码时间，需保留事件时间的插件事件类型应注册编码器
+ */
+public final class StarBotEventCodec {
+    private static final int FALLBACK_TYPE_ID = 0;
+
+    /**
+     * 内置直播平台的编码 ID，已写入事件日志与 Stream 的 ID 不可修改或复用，新增直播平台时追加新的 ID，未分配 ID 的直播平台按名称编码
+     */
+    private static final Map<LivePlatform, Integer> PLATFORM_IDS = new EnumMap<>(Map.of(
+            LivePlatform.BILIBILI, 1,
+            LivePlatform.DOU_YIN, 2,
+            LivePlatform.KUAI_SHOU, 3,
+            LivePlatform.DOU_YU, 4,
+            LivePlatform.HU_YA, 5,
+            LivePlatform.XIAO_HONG_SHU, 6,
+            LivePlatform.CC, 7,
+            LivePlatform.YY, 8
+    ));
+
+    private static final Map<String, Integer> PLATFORM_IDS_BY_NAME = new HashMap<>();
+
+    private static final Map<Integer, String> PLATFORM_NAMES_BY_ID = new HashMap<>();
+
+    private static final Map<Class<?>, Registration<?>> BY_CLASS = new ConcurrentHashMap<>();
+
+    private static final Map<Integer, Registration<?>> BY_ID = new ConcurrentHashMap<>();
+
+    private static final Map<String, Class<? extends StarBotExternalBaseEvent>> FALLBACK_CLASSES = new ConcurrentHashMap<>();
+
+    static {
+        PLATFORM_IDS.forEach((platform, id) -> {
+            PLATFORM_IDS_BY_NAME.put(platform.getName(), id);
+            PLATFORM_NAMES_BY_ID.put(id, platform.getName());
+        });
+        registerBuiltins();
+    }
+
+    private StarBotEventCodec() {
+    }
+
+    /**
+     * 注册事件编码器
+     * @param typeId 类型 ID，需在所有节点上保持一致，且不可为 0
+     * @param type 事件类型
+     * @param encoder 事件编码器
+     * @param <T> 事件类型
+     * @throws IllegalArgumentException 类型 ID 为 0 或已被其它事件类型注册
+     */
+    public static synchronized <T extends StarBotExternalBaseEvent> void register(int typeId, Class<T> type, StarBotEventEncoder<T> encoder) {
+        if (typeId == FALLBACK_TYPE_ID) {
+            throw new IllegalArgumentException("类型 ID 不可为 0");
+        }
+
+        Registration<?> existing = BY_ID.get(typeId);
+        if (existing != null && existing.type() != type) {
+            throw new IllegalArgumentException("类型 ID " + typeId + " 已被 " + existing.type().getName() + " 注册");
+        }
+
+        Registration<T> registration = new Registration<>(typeId, type, encoder);
+        BY_ID.put(typeId, registration);
+        BY_CLASS.put(type, registration);
+    }
+
+    /**
+     * 注册未提供编码器的事件类型，由插件类加载器加载的事件类型需注册后才能使用 JSONB 格式解码，编码过的事件类型将被自动注册
+     * @param type 事件类型
+     */
+    public static void registerFallback(Class<? extends StarBotExternalBaseEvent> type) {
+        FALLBACK_CLASSES.putIfAbsent(type.getName(), type);
+    }
+
+    /**
+     * 编码事件
+     * @param event 事件
+     * @return 编码后的字节数组
+     */
+    public static byte[] encode(StarBotExternalBaseEvent event) {
+        BinaryWriter writer = new BinaryWriter();
+        encode(event, writer);
+        return writer.toByteArray();
+    }
+
+    /**
+     * 编码事件至二进制写入器
+     * @param event 事件
+     * @param writer 二进制写入器
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends StarBotExternalBaseEvent> void encode(T event, BinaryWriter writer) {
+        Registration<T> registration = (Registration<T>) BY_CLASS.get(event.getClass());
+        if (registration == null) {
+            registerFallback(event.getClass());
+            writer.writeUnsignedVarLong(FALLBACK_TYPE_ID);
+            writer.writeVarLong(event.getTimestamp());
+            writer.writeString(event.getClass().getName());
+            writer.writeByteArray(JSONB.toBytes(event));
+            return;
+        }
+
+        writer.writeUnsignedVarLong(registration.typeId());
+        writer.writeVarLong(event.getTimestamp());
+        writePlatform(writer, event.getPlatform());
+        writeStreamer(writer, event.getSource());
+        registration.encoder().encode(event, writer);
+    }
+
+    /**
+     * 解码事件
+     * @param bytes 编码后的字节数组
+     * @return 事件
+     * @throws IllegalArgumentException 数据格式错误或事件类型未注册
+     */
+    public static StarBotExternalBaseEvent decode(byte[] bytes) {
+        return decode(new BinaryReader(bytes));
+    }
+
+    /**
+     * 从二进制读取器解码事件
+     * @param reader 二进制读取器
+     * @return 事件
+     * @throws IllegalArgumentException 数据格式错误或事件类型未注册
+     */
+    public static StarBotExternalBaseEvent decode(BinaryReader reader) {
+        int typeId = (int) reader.readUnsignedVarLong();
+        long timestamp = reader.readVarLong();
+
+        if (typeId == FALLBACK_TYPE_ID) {
+            String type = reader.readString();
+            return decodeJsonb(type, timestamp, reader.readByteArray());
+        }
+
+        Registration<?> registration = BY_ID.get(typeId);
+        if (registration == null) {
+            throw new IllegalArgumentException("未注册的事件类型 ID: " + typeId);
+        }
+
+        String platform = readPlatform(reader);
+        LiveStreamerInfo source = readStreamer(reader);
+        return registration.encoder().decode(reader, platform, source, Instant.ofEpochMilli(timestamp));
+    }
+
+    /**
+     * 按全类名与 JSONB 格式解码事件，仅允许解码为外部事件类型
+     * 已注册编码器的事件类型通过编码器重新构造以保留事件时间，其余事件类型的事件时间为解码时间
+     * @param type 事件全类名
+     * @param timestamp 事件时间戳，单位：毫秒
+     * @param data JSONB 格式的事件内容
+     * @return 事件
+     * @throws IllegalArgumentException 事件类型不存在或不是外部事件
+     */
+    public static StarBotExternalBaseEvent decodeJsonb(String type, long timestamp, byte[] data) {
+        Class<? extends StarBotExternalBaseEvent> clazz = FALLBACK_CLASSES.computeIfAbsent(type, name -> {
+            try {
+                Class<?> resolved = Class.forName(name, false, StarBotEventCodec.class.getClassLoader());
+                if (!StarBotExternalBaseEvent.class.isAssignableFrom(resolved)) {
+                    throw new IllegalArgumentException("不是外部事件类型: " + name);
+                }
+                return resolved.asSubclass(StarBotExternalBaseEvent.class);
+            } catch (ClassNotFoundException e) {
+                throw new IllegalArgumentException("未找到事件类型: " + name, e);
+            }
+        });
+        StarBotExternalBaseEvent event = JSONB.parseObject(data, clazz);
+        Registration<?> registration = BY_CLASS.get(clazz);
+        return registration != null ? rebuild(registration, event, timestamp) : event;
+    }
+
+    /**
+     * 通过事件编码器重新构造事件，使事件时间与编码前一致
+     * @param registration 事件编码器注册信息
+     * @param event 事件
+     * @param timestamp 事件时间戳，单位：毫秒
+     * @return 重新构造的事件
+     */
+    private static <T extends StarBotExternalBaseEvent> T rebuild(Registration<T> registration, StarBotExternalBaseEvent event, long timestamp) {
+        BinaryWriter writer = new BinaryWriter();
+        registration.encoder().encode(registration.type().cast(event), writer);
+        return registration.encoder().decode(new BinaryReader(writer.toByteArray()), event.getPlatform(), event.getSource(), Instant.ofEpochMilli(timestamp));
+    }
+
+    /**
+     * 写入直播平台，内置直播平台写入其编码 ID，其余平台写入 0 与平台名称
+     * @param writer 二进制写入器
+     * @param platform 直播平台
+     */
+    public static void writePlatform(BinaryWriter writer, String platform) {
+        if (platform == null) {
+            writer.writeByte(0xFF);
+            return;
+        }
+
+        Integer id = PLATFORM_IDS_BY_NAME.get(platform);
+        if (id != null) {
+            writer.writeByte(id);
+            return;
+        }
+        writer.writeByte(0);
+        writer.writeString(platform);
+    }
+
+    /**
+     * 读取直播平台
+     * @param reader 二进制读取器
+     * @return 直播平台
+     */
+    public static String readPlatform(BinaryReader reader) {
+        int id = reader.readByte();
+        if (id == 0xFF) {
+            return null;
+        }
+        if (id == 0) {
+            return reader.readString();
+        }
+
+        String platform = PLATFORM_NAMES_BY_ID.get(id);
+        if (platform == null) {
+            throw new IllegalArgumentException("未知的直播平台 ID: " + id);
+        }
+        return platform;
+    }
+
+    /**
+     * 写入用户信息，首字节为存在位标记，对象为 null 时仅写入 0
+     * @param writer 二进制写入器
+     * @param user 用户信息
+     */
+    public static void writeUser(BinaryWriter writer, UserInfo user) {
+        if (user == null) {
+            writer.writeByte(0);
+            return;
+        }
+
+        writer.writeByte(1 | (user.getUid() != null ? 2 : 0) | (user.getUname() != null ? 4 : 0) | (user.getFace() != null ? 8 : 0));
+        writeUserFields(writer, user);
+    }
+
+    /**
+     * 读取用户信息
+     * @param reader 二进制读取器
+     * @return 用户信息
+     */
+    public static UserInfo readUser(BinaryReader reader) {
+        int mask = reader.readByte();
+        if (mask == 0) {
+            return null;
+        }
+
+        UserInfo user = new UserInfo();
+        readUserFields(reader, user, mask);
+        return user;
+    }
+
+    /**
+     * 写入主播信息
+     * @param writer 二进制写入器
+     * @param streamer 主播信息
+     */
+    public static void writeStreamer(BinaryWriter writer, LiveStreamerInfo streamer) {
+        if (streamer == null) {
+            writer.writeByte(0);
+            return;
+        }
+
+        writer.writeByte(1 | (streamer.getUid() != null ? 2 : 0) | (streamer.getUname() != null ? 4 : 0) | (streamer.getFace() != null ? 8 : 0) | (streamer.getRoomId() != null ? 16 : 0));
+        if (streamer.getUid() != null) {
+            writer.writeVarLong(streamer.getUid());
+        }
+        if (streamer.getUname() != null) {
+            writer.writeString(streamer.getUname());
+        }
+        if (streamer.getFace() != null) {
+            writer.writeString(streamer.getFace());
+        }
+        if (streamer.getRoomId() != null) {
+            writer.writeVarLong(streamer.getRoomId());
+        }
+    }
+
+    /**
+     * 读取主播信息
+     * @param reader 二进制读取器
+     * @return 主播信息
+     */
+    public static LiveStreamerInfo readStreamer(BinaryReader reader) {
+        int mask = reader.readByte();
+        if (mask == 0) {
+            return null;
+        }
+
+        Long uid = (mask & 2) != 0 ? reader.readVarLong() : null;
+        String uname = (mask & 4) != 0 ? reader.readString() : null;
+        String face = (mask & 8) != 0 ? reader.readString() : null;
+        Long roomId = (mask & 16) != 0 ? reader.readVarLong() : null;
+        return new LiveStreamerInfo(uid, uname, roomId, face);
+    }
+
+    private static void writeUserFields(BinaryWriter writer, UserInfo user) {
+        if (user.getUid() != null) {
+            writer.writeVarLong(user.getUid());
+        }
+        if (user.getUname() != null) {
+            writer.writeString(user.getUname());
+        }
+        if (user.getFace() != null) {
+            writer.writeString(user.getFace());
+        }
+    }
+
+    private static void readUserFields(BinaryReader reader, UserInfo user, int mask) {
+        if ((mask & 2) != 0) {
+            user.setUid(reader.readVarLong());
+        }
+        if ((mask & 4) != 0) {
+            user.setUname(reader.readString());
+        }
+        if ((mask & 8) != 0) {
+            user.setFace(reader.readString());
+        }
+    }
+
+    /**
+     * 写入礼物信息
+     * @param writer 二进制写入器
+     * @param gift 礼物信息
+     */
+    public static void writeGift(BinaryWriter writer, GiftInfo gift) {
+        if (gift == null) {
+            writer.writeByte(0);
+            return;
+        }
+
+        writer.writeByte(1 | (gift.getId() != null ? 2 : 0) | (gift.getName() != null ? 4 : 0) | (gift.getPrice() != null ? 8 : 0)
+                | (gift.getCount() != null ? 16 : 0) | (gift.getUrl() != null ? 32 : 0));
+        if (gift.getId() != null) {
+            writer.writeVarLong(gift.getId());
+        }
+        if (gift.getName() != null) {
+            writer.writeString(gift.getName());
+        }
+        if (gift.getPrice() != null) {
+            writer.writeDouble(gift.getPrice());
+        }
+        if (gift.getCount() != null) {
+            writer.writeVarInt(gift.getCount());
+        }
+        if (gift.getUrl() != null) {
+            writer.writeString(gift.getUrl());
+        }
+    }
+
+    /**
+     * 读取礼物信息
+     * @param reader 二进制读取器
+     * @return 礼物信息
+     */
+    public static GiftInfo readGift(BinaryReader reader) {
+        int mask = reader.readByte();
+        if (mask == 0) {
+            return null;
+        }
+
+        GiftInfo gift = new GiftInfo();
+        if ((mask & 2) != 0) {
+            gift.setId(reader.readVarLong());
+        }
+        if ((mask & 4) != 0) {
+            gift.setName(reader.readString());
+        }
+        if ((mask & 8) != 0) {
+            gift.setPrice(reader.readDouble());
+        }
+        if ((mask & 16) != 0) {
+            gift.setCount(reader.readVarInt());
+        }
+        if ((mask & 32) != 0) {
+            gift.setUrl(reader.readString());
+        }
+        return gift;
+    }
+
+    /**
+     * 写入表情信息
+     * @param writer 二进制写入器
+     * @param emoji 表情信息
+     */
+    public static void writeEmoji(BinaryWriter writer, EmojiInfo emoji) {
+        if (emoji == null) {
+            writer.writeByte(0);
+            return;
+        }
+
+        writer.writeByte(1 | (emoji.getId() != null ? 2 : 0) | (emoji.getName() != null ? 4 : 0) | (emoji.getUrl() != null ? 8 : 0));
+        if (emoji.getId() != null) {
+            writer.writeString(emoji.getId());
+        }
+        if (emoji.getName() != null) {
+            writer.writeString(emoji.getName());
+        }
+        if (emoji.getUrl() != null) {
+            writer.writeString(emoji.getUrl());
+        }
+    }
+
+    /**
+     * 读取表情信息
+     * @param reader 二进制读取器
+     * @return 表情信息
+     */
+    public static EmojiInfo readEmoji(BinaryReader reader) {
+        int mask = reader.readByte();
+        if (mask == 0) {
+            return null;
+        }
+
+        EmojiInfo emoji = new EmojiInfo();
+        if ((mask & 2) != 0) {
+            emoji.setId(reader.readString());
+        }
+        if ((mask & 4) != 0) {
+            emoji.setName(reader.readString());
+        }
+        if ((mask & 8) != 0) {
+            emoji.setUrl(reader.readString());
+        }
+        return emoji;
+    }
+
+    /**
+     * 写入可为 null 的字符串
+     * @param writer 二进制写入器
+     * @param value 字符串
+     */
+    public static void writeOptionalString(BinaryWriter writer, String value) {
+        writer.writeByte(value != null ? 1 : 0);
+        if (value != null) {
+            writer.writeString(value);
+        }
+    }
+
+    /**
+     * 读取可为 null 的字符串
+     * @param reader 二进制读取器
+     * @return 字符串
+     */
+    public static String readOptionalString(BinaryReader reader) {
+        return reader.readByte() != 0 ? reader.readString() : null;
+    }
+
+    /**
+     * 写入可为 null 的浮点数
+     * @param writer 二进制写入器
+     * @param value 浮点数
+     */
+    public static void writeOptionalDouble(BinaryWriter writer, Double value) {
+        writer.writeByte(value != null ? 1 : 0);
+        if (value != null) {
+            writer.writeDouble(value);
+        }
+    }
+
+    /**
+     * 读取可为 null 的浮点数
+     * @param reader 二进制读取器
+     * @return 浮点数
+     */
+    public static Double readOptionalDouble(BinaryReader reader) {
+        return reader.readByte() != 0 ? reader.readDouble() : null;
+    }
+
+    /**
+     * 写入可为 null 的整数
+     * @param writer 二进制写入器
+     * @param value 整数
+     */
+    public static void writeOptionalInt(BinaryWriter writer, Integer value) {
+        writer.writeByte(value != null ? 1 : 0);
+        if (value != null) {
+            writer.writeVarInt(value);
+        }
+    }
+
+    /**
+     * 读取可为 null 的整数
+     * @param reader 二进制读取器
+     * @return 整数
+     */
+    public static Integer readOptionalInt(BinaryReader reader) {
+        return reader.readByte() != 0 ? reader.readVarInt() : null;
+    }
+
+    private static void writePurchase(BinaryWriter writer, StarBotLivePurchaseEvent event) {
+        writeUser(writer, event.getSender());
+        writeOptionalDouble(writer, event.getValue());
+    }
+
+    private static void writeGiftEvent(BinaryWriter writer, StarBotLiveGiftEvent event) {
+        writePurchase(writer, event);
+        writeGift(writer, event.getGiftInfo());
+    }
+
+    private static <T extends StarBotExternalBaseEvent> StarBotEventEncoder<T> encoder(BiConsumer<T, BinaryWriter> encode, Decoder<T> decode) {
+        return new StarBotEventEncoder<>() {
+            @Override
+            public void encode(T event, BinaryWriter writer) {
+                encode.accept(event, writer);
+            }
+
+            @Override
+            public T decode(BinaryReader reader, String platform, LiveStreamerInfo source, Instant instant) {
+                return decode.decode(reader, platform, source, instant);
+            }
+        };
+    }
+
+    private static <T extends StarBotExternalBaseEvent> StarBotEventEncoder<T> empty(EmptyFactory<T> factory) {
+        return encoder((event, writer) -> {}, (reader, platform, source, instant) -> factory.create(platform, source, instant));
+    }
+
+    private static <T extends StarBotLiveInteractionEvent> StarBotEventEncoder<T> interaction(InteractionFactory<T> factory) {
+        return encoder((event, writer) -> writeUser(writer, event.getSender()), (reader, platform, source, instant) -> factory.create(platform, source, readUser(reader), instant));
+    }
+
+    private static <T extends StarBotLiveOperationEvent> StarBotEventEncoder<T> operation(InteractionFactory<T> factory) {
+        return encoder((event, writer) -> writeUser(writer, event.getSender()), (reader, platform, source, instant) -> factory.create(platform, source, readUser(reader), instant));
+    }
+
+    /**
+     * 注册内置事件类型的编码器，类型 ID 一经发布不可修改
+     */
+    private static void registerBuiltins() {
+        register(1, ConnectedEvent.class, empty(ConnectedEvent::new));
+        register(2, DisconnectedEvent.class, empty(DisconnectedEvent::new));
+        register(3, LiveOnEvent.class, empty(LiveOnEvent::new));
+        register(4, LiveOffEvent.class, empty(LiveOffEvent::new));
+        register(5, DanmuEvent.class, encoder((event, writer) -> {
+            writeUser(writer, event.getSender());
+            writeOptionalString(writer, event.getContent());
+            writeOptionalString(writer, event.getContentText());
+        }, (reader, platform, source, instant) -> new DanmuEvent(platform, source, readUser(reader), readOptionalString(reader), readOptionalString(reader), instant)));
+        register(6, EmojiEvent.class, encoder((event, writer) -> {
+            writeUser(writer, event.getSender());
+            writeEmoji(writer, event.getEmoji());
+        }, (reader, platform, source, instant) -> new EmojiEvent(platform, source, readUser(reader), readEmoji(reader), instant)));
+        register(7, LikeEvent.class, interaction(LikeEvent::new));
+        register(8, LikeUpdateEvent.class, encoder((event, writer) -> writeOptionalInt(writer, event.getCount()),
+                (reader, platform, source, instant) -> new LikeUpdateEvent(platform, source, readOptionalInt(reader), instant)));
+        register(9, EnterRoomEvent.class, operation(EnterRoomEvent::new));
+        register(10, FollowEvent.class, operation(FollowEvent::new));
+        register(11, ShareEvent.class, operation(ShareEvent::new));
+        register(12, FreeGiftEvent.class, encoder((event, writer) -> writeGiftEvent(writer, event), (reader, platform, source, instant) -> {
+            UserInfo sender = readUser(reader);
+            Double value = readOptionalDouble(reader);
+            FreeGiftEvent event = new FreeGiftEvent(platform, source, sender, readGift(reader), instant);
+            event.setValue(value);
+            return event;
+        }));
+        register(13, PaidGiftEvent.class, encoder((event, writer) -> writeGiftEvent(writer, event), (reader, platform, source, instant) -> {
+            UserInfo sender = readUser(reader);
+            Double value = readOptionalDouble(reader);
+            return new PaidGiftEvent(platform, source, sender, readGift(reader), value, instant);
+        }));
+        register(14, RandomGiftEvent.class, encoder((event, writer) -> {
+            writeGiftEvent(writer, event);
+            writeGift(writer, event.getRandomGiftInfo());
+            writeOptionalDouble(writer, event.getPrice());
+            writeOptionalDouble(writer, event.getProfit());
+        }, (reader, platform, source, instant) -> {
+            UserInfo sender = readUser(reader);
+            Double value = readOptionalDouble(reader);
+            GiftInfo giftInfo = readGift(reader);
+            GiftInfo randomGiftInfo = readGift(reader);
+            Double price = readOptionalDouble(reader);
+            RandomGiftEvent event = new RandomGiftEvent(platform, source, sender, randomGiftInfo, giftInfo, price, value, instant);
+            event.setProfit(readOptionalDouble(reader));
+            return event;
+        }));
+        register(15, MembershipEvent.class, encoder((event, writer) -> {
+            writePurchase(writer, event);
+            writeOptionalDouble(writer, event.getPrice());
+            writeOptionalInt(writer, event.getCount());
+            writeOptionalString(writer, event.getUnit());
+        }, (reader, platform, source, instant) -> {
+            UserInfo sender = readUser(reader);
+            Double value = readOptionalDouble(reader);
+            MembershipEvent event = new MembershipEvent(platform, source, sender, readOptionalDouble(reader), readOptionalInt(reader), readOptionalString(reader), instant);
+            event.setValue(value);
+            return event;
+        }));
+        register(16, SuperChatEvent.class, encoder((event, writer) -> {
+            writePurchase(writer, event);
+            writeOptionalString(writer, event.getContent());
+        }, (reader, platform, source, instant) -> {
+            UserInfo sender = readUser(reader);
+            Double value = readOptionalDouble(reader);
+            return new SuperChatEvent(platform, source, sender, readOptionalString(reader), value, instant);
+        }));
+    }
+
+    /**
+     * 事件编码器注册信息
+     * @param typeId 类型 ID
+     * @param type 事件类型
+     * @param encoder 事件编码器
+     * @param <T> 事件类型
+     */
+    private record Registration<T extends StarBotExternalBaseEvent>(int typeId, Class<T> type, StarBotEventEncoder<T> encoder) {
+    }
+
+    /**
+     * 事件字段解码函数
+     * @param <T> 事件类型
+     */
+    @FunctionalInterface
+    private interface Decoder<T> {
+        T decode(BinaryReader reader, String platform, LiveStreamerInfo source, Instant instant);
+    }
+
+    /**
+     * 无事件字段的事件构造方法
+     * @param <T> 事件类型
+     */
+    @FunctionalInterface
+    private interface EmptyFactory<T> {
+        T create(String platform, LiveStreamerInfo source, Instant instant);
+    }
+
+    /**
+     * 仅包含发送者的事件构造方法
+     * @param <T> 事件类型
+     */
+    @FunctionalInterface
+    private interface InteractionFactory<T> {
+        T create(String platform, LiveStreamerInfo source, UserInfo sender, Instant instant);
+    }
+}
@@ -0,0 +1,29 @@
+package com.starlwr.bot.core.codec;
+
+import com.starlwr.bot.core.event.StarBotExternalBaseEvent;
+import com.starlwr.bot.core.model.LiveStreamerInfo;
+
+import java.time.Instant;
+
+/**
+ * 事件编码器，仅负责事件类型自身的字段，事件时间、直播平台与主播信息由 {@link StarBotEventCodec} 统一处理
+ * @param <T> 事件类型
+ */
+public interface StarBotEventEncoder<T extends StarBotExternalBaseEvent> {
+    /**
+     * 编码事件字段
+     * @param event 事件
+     * @param writer 二进制写入器
+     */
+    void encode(T event, BinaryWriter writer);
+
+    /**
+     * 解码事件字段，事件时间只能在构造时指定，返回的事件需通过事件类型指定事件时间的构造方法创建
+     * @param reader 二进制读取器
+     * @param platform 直播平台
+     * @param source 主播信息
+     * @param instant 事件时间
+     * @return 事件
+     */
+    T decode(BinaryReader reader, String platform, LiveStreamerInfo source, Instant instant);
+}
@@ -1,5 +1,6 @@
 package com.starlwr.bot.core.config;
 
+import com.starlwr.bot.core.enums.ThreadMode;
 import com.starlwr.bot.core.model.Sender;
 import com.starlwr.bot.core.model.TextWithStyle;
 import jakarta.annotation.PostConstruct;
@@ -24,6 +25,36 @@ public class StarBotCoreProperties {
     @Getter
     private final EventHandlerThread eventHandlerThread = new EventHandlerThread();
 
+    @Getter
+    private final EventLane eventLane = new EventLane();
+
+    @Getter
+    private final EventCoalesce eventCoalesce = new EventCoalesce();
+
+    @Getter
+    private final EventBus eventBus = new EventBus();
+
+    @Getter
+    private final Bulkhead bulkhead = new Bulkhead();
+
+    @Getter
+    private final EventThrottle eventThrottle = new EventThrottle();
+
+    @Getter
+    private final EventDedup eventDedup = new EventDedup();
+
+    @Getter
+    private final EventReorder eventReorder = new EventReorder();
+
+    @Getter
+    private final RedisStream redisStream = new RedisStream();
+
+    @Getter
+    private final EventRecord eventRecord = new EventRecord();
+
+    @Getter
+    private final EventReplay eventReplay = new EventReplay();
+
     @Getter
     private final DataSource datasource = new DataSource();
 
@@ -61,6 +92,11 @@ public class StarBotCoreProperties {
          * 非核心线程存活时间，单位：秒
          */
         private int keepAliveSeconds = 60;
+
+        /**
+         * 线程池运行模式，可选值：platform (平台线程池)、virtual (虚拟线程，需 JDK 21 及以上版本)
+         */
+        private ThreadMode mode = ThreadMode.PLATFORM;
     }
 
     /**
@@ -88,6 +124,382 @@ public class StarBotCoreProperties {
          * 非核心线程存活时间，单位：秒
          */
         private int keepAliveSeconds = 300;
+
+        /**
+         * 线程池运行模式，可选值：platform (平台线程池)、virtual (虚拟线程，需 JDK 21 及以上版本)、striped (分条执行，同一直播间的事件按顺序处理)
+         */
+        private ThreadMode mode = ThreadMode.PLATFORM;
+
+        /**
+         * 分条数量，仅 striped 模式下生效
+         */
+        private int stripes = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * 每个分条的任务队列容量，仅 striped 模式下生效
+         */
+        private int stripeQueueCapacity = 10000;
+
+        /**
+         * 分条任务队列已满时发布事件的线程的最长等待时间，超时后丢弃该事件，仅 striped 模式下生效，单位：毫秒
+         */
+        private long stripeOfferTimeoutMillis = 1000;
+
+        /**
+         * 同时进行中的异步事件处理数量上限，达到上限时丢弃新的事件
+         */
+        private int maxAsyncInFlight = 1000;
+
+        /**
+         * 异步事件处理的超时时间，超时后不再等待其结果并记为超时，其占用的执行许可在处理真正结束后释放，单位：毫秒
+         */
+        private long asyncTimeoutMillis = 60000;
+    }
+
+    /**
+     * 事件优先级通道相关
+     */
+    @Getter
+    @Setter
+    public static class EventLane {
+        /**
+         * 是否启用优先级通道，启用后事件处理线程资源耗尽时事件在通道中排队，普通与低优先级通道已满时丢弃事件，而不再由发布事件的线程直接处理，高优先级通道不限容量
+         */
+        private boolean enabled = false;
+
+        /**
+         * 最大工作线程数量，仅 platform 与 virtual 模式下生效，platform 模式下优先级通道使用独立的工作线程池，不占用事件处理线程池
+         */
+        private int maxWorkers = 100;
+
+        /**
+         * 普通优先级通道容量，分条模式下为单个分条的排队上限
+         */
+        private int normalCapacity = 10000;
+
+        /**
+         * 低优先级通道容量，分条模式下为单个分条的排队上限
+         */
+        private int lowCapacity = 1000;
+    }
+
+    /**
+     * 高频事件合并相关
+     */
+    @Getter
+    @Setter
+    public static class EventCoalesce {
+        /**
+         * 是否启用高频事件合并，启用后同一直播间的指定事件将在时间窗口内合并后批量处理
+         */
+        private boolean enabled = false;
+
+        /**
+         * 合并时间窗口，单位：毫秒
+         */
+        private long windowMillis = 1000;
+
+        /**
+         * 需合并的事件全类名，信息更新类事件仅保留窗口内最新的一个，其余事件同一观众在窗口内仅保留一个
+         */
+        private List<String> events = new ArrayList<>(Arrays.asList(
+                "com.starlwr.bot.core.event.live.common.EnterRoomEvent",
+                "com.starlwr.bot.core.event.live.common.LikeEvent",
+                "com.starlwr.bot.core.event.live.common.LikeUpdateEvent"
+        ));
+    }
+
+    /**
+     * 外部事件总线相关
+     */
+    @Getter
+    @Setter
+    public static class EventBus {
+        /**
+         * 是否启用外部事件总线，启用后通过 StarBotEventBus 发布的外部事件经由环形缓冲区直接分发，不经过 Spring 事件广播
+         */
+        private boolean enabled = false;
+
+        /**
+         * 环形缓冲区总容量，平均分配至各消费线程，每个消费线程的容量将向上取整为 2 的幂
+         */
+        private int bufferSize = 65536;
+
+        /**
+         * 消费线程数量，同一直播间的事件总是由同一个消费线程处理
+         */
+        private int consumers = 2;
+
+        /**
+         * 是否将事件桥接至 Spring 事件广播，关闭后使用 @EventListener 监听外部事件的组件将无法收到通过事件总线发布的事件
+         */
+        private boolean bridge = true;
+    }
+
+    /**
+     * 事件处理器舱壁相关
+     */
+    @Getter
+    @Setter
+    public static class Bulkhead {
+        /**
+         * 是否启用事件处理器舱壁，启用后每个事件处理器使用独立的线程与等待队列执行，并限制单次执行时间
+         */
+        private boolean enabled = false;
+
+        /**
+         * 默认舱壁配置
+         */
+        private BulkheadOptions defaults = new BulkheadOptions();
+
+        /**
+         * 按事件处理器全类名单独指定的舱壁配置，YAML 中的键需使用 "[全类名]" 格式
+         */
+        private Map<String, BulkheadOptions> handlers = new HashMap<>();
+
+        /**
+         * 获取指定事件处理器的舱壁配置
+         * @param handlerClass 事件处理器全类名
+         * @return 舱壁配置
+         */
+        public BulkheadOptions getOptions(String handlerClass) {
+            return handlers.getOrDefault(handlerClass, defaults);
+        }
+    }
+
+    /**
+     * 舱壁配置
+     */
+    @Getter
+    @Setter
+    public static class BulkheadOptions {
+        /**
+         * 最大并发数，即舱壁中单线程通道的数量，同一直播间的事件始终在同一通道中按顺序执行
+         */
+        private int maxConcurrency = 10;
+
+        /**
+         * 等待队列总容量，平均分配至各通道
+         */
+        private int queueCapacity = 100;
+
+        /**
+         * 单次执行超时时间，单位：毫秒
+         */
+        private long timeoutMillis = 30000;
+    }
+
+    /**
+     * 事件节流相关
+     */
+    @Getter
+    @Setter
+    public static class EventThrottle {
+        /**
+         * 是否对所有事件订阅启用节流，也可在推送参数中通过 throttle 配置为单个推送消息启用
+         */
+        private boolean enabled = false;
+
+        /**
+         * 每个时间窗口内同一推送目标同一类型事件的最大处理次数，超出部分在窗口结束时每个推送消息汇总处理一次
+         */
+        private int maxEvents = 10;
+
+        /**
+         * 节流时间窗口，单位：毫秒
+         */
+        private long windowMillis = 1000;
+    }
+
+    /**
+     * 事件去重相关
+     */
+    @Getter
+    @Setter
+    public static class EventDedup {
+        /**
+         * 是否启用事件去重，同一直播间使用多个冗余连接时启用，丢弃不同连接接收到的重复事件，仅对同一节点上的冗余连接生效
+         */
+        private boolean enabled = false;
+
+        /**
+         * 时间分桶大小，单位：毫秒，同一分桶内的相同事件视为重复
+         */
+        private long bucketMillis = 1000;
+
+        /**
+         * 事件指纹保留时间，单位：毫秒
+         */
+        private long windowMillis = 10000;
+
+        /**
+         * 每个保留时间内最多记录的事件指纹数量
+         */
+        private int capacity = 100000;
+
+        /**
+         * 需去重的事件全类名，可配置为事件基类
+         */
+        private Set<String> events = new HashSet<>(Arrays.asList(
+                "com.starlwr.bot.core.event.live.base.StarBotLiveInteractionEvent",
+                "com.starlwr.bot.core.event.live.base.StarBotLiveOperationEvent",
+                "com.starlwr.bot.core.event.live.base.StarBotLiveStatusChangeEvent"
+        ));
+    }
+
+    /**
+     * 事件时间重排序相关
+     */
+    @Getter
+    @Setter
+    public static class EventReorder {
+        /**
+         * 是否启用事件时间重排序，启用后同一直播间的指定事件将在缓冲后按事件时间顺序处理，建议配合 striped 模式使用
+         */
+        private boolean enabled = false;
+
+        /**
+         * 允许的最大延迟，单位：毫秒，事件最多被缓冲该时长
+         */
+        private long latenessMillis = 2000;
+
+        /**
+         * 每个直播间最多缓冲的事件数量
+         */
+        private int maxBufferedPerRoom = 10000;
+
+        /**
+         * 是否丢弃迟到事件，不丢弃时迟到事件将被立即处理
+         */
+        private boolean dropLate = false;
+
+        /**
+         * 需重排序的事件全类名，可配置为事件基类
+         */
+        private List<String> events = new ArrayList<>(Arrays.asList(
+                "com.starlwr.bot.core.event.live.base.StarBotLiveInteractionEvent"
+        ));
+    }
+
+    /**
+     * Redis Stream 事件传输相关
+     */
+    @Getter
+    @Setter
+    public static class RedisStream {
+        /**
+         * 是否启用 Redis Stream 事件传输，启用后外部事件经由 Redis Stream 由所有节点共同处理，core 模式下不可用
+         */
+        private boolean enabled = false;
+
+        /**
+         * Stream 键名
+         */
+        private String key = "starbot:events";
+
+        /**
+         * 消费者组名称，需共同处理事件的节点应使用相同的消费者组
+         */
+        private String group = "starbot";
+
+        /**
+         * 消费者名称，默认为主机名与进程号
+         */
+        private String consumer;
+
+        /**
+         * 消费线程数量
+         */
+        private int consumers = 1;
+
+        /**
+         * 单次读取的最大事件数量
+         */
+        private int batchSize = 100;
+
+        /**
+         * 读取事件时的最长阻塞时间，单位：毫秒
+         */
+        private long blockMillis = 2000;
+
+        /**
+         * Stream 最大长度，超出后近似裁剪最旧的事件
+         */
+        private long maxLength = 100000;
+
+        /**
+         * 事件超过该时长未被确认时可被其它节点认领，单位：毫秒，事件在全部事件处理器调用结束后才被确认，应大于事件处理的最长耗时
+         */
+        private long reclaimIdleMillis = 60000;
+
+        /**
+         * 检查未确认事件的间隔，单位：毫秒
+         */
+        private long reclaimIntervalMillis = 30000;
+
+        /**
+         * 批量确认已处理完成事件的间隔，单位：毫秒
+         */
+        private long ackIntervalMillis = 100;
+
+        /**
+         * 待发布事件队列容量，队列已满时事件将在本节点直接分发
+         */
+        private int publishQueueCapacity = 10000;
+    }
+
+    /**
+     * 事件录制相关
+     */
+    @Getter
+    @Setter
+    public static class EventRecord {
+        /**
+         * 是否启用事件录制，启用后接收到的外部事件将写入滚动的事件日志
+         */
+        private boolean enabled = false;
+
+        /**
+         * 事件日志目录
+         */
+        private String directory = "records";
+
+        /**
+         * 单个事件日志文件的大小上限，单位：字节
+         */
+        private long maxFileBytes = 64L * 1024 * 1024;
+
+        /**
+         * 保留的事件日志文件数量
+         */
+        private int maxFiles = 10;
+
+        /**
+         * 待写入事件队列容量，队列已满时丢弃事件
+         */
+        private int queueCapacity = 65536;
+    }
+
+    /**
+     * 事件回放相关
+     */
+    @Getter
+    @Setter
+    public static class EventReplay {
+        /**
+         * 启动后回放的事件日志文件或目录，为空时不回放
+         */
+        private String path;
+
+        /**
+         * 回放倍速，1 为原速，小于等于 0 时以最快速度回放
+         */
+        private double speed = 1;
+
+        /**
+         * 回放结束后等待已分发事件处理完成的最长时间，单位：毫秒
+         */
+        private long drainTimeoutMillis = 60000;
     }
 
     /**
@@ -1,11 +1,18 @@
 package com.starlwr.bot.core.config;
 
+import com.starlwr.bot.core.enums.ThreadMode;
+import com.starlwr.bot.core.util.StripedExecutor;
 import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import java.util.Optional;
 import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ThreadPoolExecutor;
 
@@ -20,17 +27,43 @@ public class StarBotCoreThreadPoolConfig {
 
     @Bean
     public ThreadPoolTaskExecutor networkThreadPool() {
+        StarBotCoreProperties.NetworkThread config = properties.getNetworkThread();
+
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(properties.getNetworkThread().getCorePoolSize());
-        executor.setMaxPoolSize(properties.getNetworkThread().getMaxPoolSize());
-        executor.setQueueCapacity(properties.getNetworkThread().getQueueCapacity());
-        executor.setKeepAliveSeconds(properties.getNetworkThread().getKeepAliveSeconds());
+        executor.setCorePoolSize(config.getCorePoolSize());
+        executor.setMaxPoolSize(config.getMaxPoolSize());
+        executor.setQueueCapacity(config.getQueueCapacity());
+        executor.setKeepAliveSeconds(config.getKeepAliveSeconds());
         executor.setThreadNamePrefix("network-thread-");
         executor.setRejectedExecutionHandler(new NetworkWithLogCallerRunsPolicy());
         executor.initialize();
         return executor;
     }
 
+    /**
+     * 网络请求实际使用的执行器，虚拟线程模式下为虚拟线程执行器，否则为 networkThreadPool
+     * networkThreadPool 始终以 ThreadPoolTaskExecutor 类型注册，以兼容直接注入该类型的插件
+     */
+    @Bean
+    public AsyncTaskExecutor networkTaskExecutor(@Qualifier("networkThreadPool") ThreadPoolTaskExecutor networkThreadPool) {
+        StarBotCoreProperties.NetworkThread config = properties.getNetworkThread();
+
+        if (config.getMode() == ThreadMode.STRIPED) {
+            log.warn("网络请求线程池不支持分条执行模式, 将使用平台线程模式");
+        }
+
+        if (config.getMode() == ThreadMode.VIRTUAL) {
+            Optional<AsyncTaskExecutor> virtualExecutor = createVirtualThreadExecutor("network-thread-");
+            if (virtualExecutor.isPresent()) {
+                log.info("网络请求线程池已启用虚拟线程模式");
+                return virtualExecutor.get();
+            }
+            log.warn("当前 JDK 版本不支持虚拟线程, 网络请求线程池将回退至平台线程模式");
+        }
+
+        return networkThreadPool;
+    }
+
     private static class NetworkWithLogCallerRunsPolicy implements RejectedExecutionHandler {
         @Override
         public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
@@ -41,17 +74,39 @@ public class StarBotCoreThreadPoolConfig {
 
     @Bean
     public ThreadPoolTaskExecutor eventHandlerThreadPool() {
+        StarBotCoreProperties.EventHandlerThread config = properties.getEventHandlerThread();
+
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(properties.getEventHandlerThread().getCorePoolSize());
-        executor.setMaxPoolSize(properties.getEventHandlerThread().getMaxPoolSize());
-        executor.setQueueCapacity(properties.getEventHandlerThread().getQueueCapacity());
-        executor.setKeepAliveSeconds(properties.getEventHandlerThread().getKeepAliveSeconds());
+        executor.setCorePoolSize(config.getCorePoolSize());
+        executor.setMaxPoolSize(config.getMaxPoolSize());
+        executor.setQueueCapacity(config.getQueueCapacity());
+        executor.setKeepAliveSeconds(config.getKeepAliveSeconds());
         executor.setThreadNamePrefix("handler-thread-");
         executor.setRejectedExecutionHandler(new EventHandlerWithLogCallerRunsPolicy());
         executor.initialize();
         return executor;
     }
 
+    /**
+     * 事件处理实际使用的执行器，虚拟线程模式下为虚拟线程执行器，否则为 eventHandlerThreadPool
+     * eventHandlerThreadPool 始终以 ThreadPoolTaskExecutor 类型注册，以兼容直接注入该类型的插件
+     */
+    @Bean
+    public AsyncTaskExecutor eventHandlerTaskExecutor(@Qualifier("eventHandlerThreadPool") ThreadPoolTaskExecutor eventHandlerThreadPool) {
+        StarBotCoreProperties.EventHandlerThread config = properties.getEventHandlerThread();
+
+        if (config.getMode() == ThreadMode.VIRTUAL) {
+            Optional<AsyncTaskExecutor> virtualExecutor = createVirtualThreadExecutor("handler-thread-");
+            if (virtualExecutor.isPresent()) {
+                log.info("事件处理线程池已启用虚拟线程模式");
+                return virtualExecutor.get();
+            }
+            log.warn("当前 JDK 版本不支持虚拟线程, 事件处理线程池将回退至平台线程模式");
+        }
+
+        return eventHandlerThreadPool;
+    }
+
     private static class EventHandlerWithLogCallerRunsPolicy implements RejectedExecutionHandler {
         @Override
         public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
@@ -59,4 +114,27 @@ public class StarBotCoreThreadPoolConfig {
             r.run();
         }
     }
+
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnProperty(prefix = "starbot.core.event-handler-thread", name = "mode", havingValue = "striped")
+    public StripedExecutor eventHandlerStripedExecutor() {
+        StarBotCoreProperties.EventHandlerThread config = properties.getEventHandlerThread();
+        log.info("事件处理已启用分条执行模式, 分条数量: {}", config.getStripes());
+        return new StripedExecutor(config.getStripes(), config.getStripeQueueCapacity(), config.getStripeOfferTimeoutMillis(), "striped-handler-thread-");
+    }
+
+    /**
+     * 创建每个任务使用一个新虚拟线程的执行器
+     * @param threadNamePrefix 线程名称前缀
+     * @return 执行器，当前 JDK 不支持虚拟线程时返回空
+     */
+    private Optional<AsyncTaskExecutor> createVirtualThreadExecutor(String threadNamePrefix) {
+        try {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+            executor.setVirtualThreads(true);
+            return Optional.of(executor);
+        } catch (UnsupportedOperationException e) {
+            return Optional.empty();
+        }
+    }
 }
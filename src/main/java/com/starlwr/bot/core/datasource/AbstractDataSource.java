@@ -2,11 +2,13 @@ package com.starlwr.bot.core.datasource;
 
 import com.alibaba.fastjson2.JSON;
 import com.alibaba.fastjson2.JSONObject;
+import com.starlwr.bot.core.dispatcher.StarBotEventFilter;
 import com.starlwr.bot.core.event.datasource.change.StarBotDataSourceAddEvent;
 import com.starlwr.bot.core.event.datasource.change.StarBotDataSourceRemoveEvent;
 import com.starlwr.bot.core.event.datasource.change.StarBotDataSourceUpdateEvent;
 import com.starlwr.bot.core.exception.DataSourceException;
 import com.starlwr.bot.core.handler.StarBotEventHandler;
+import com.starlwr.bot.core.model.LiveStreamerInfo;
 import com.starlwr.bot.core.model.PushMessage;
 import com.starlwr.bot.core.model.PushTarget;
 import com.starlwr.bot.core.model.PushUser;
@@ -23,6 +25,7 @@ import java.util.stream.Collectors;
 
 /**
  * 数据源抽象类
+ * 推送用户以不可变快照的形式发布，写操作在同步块内生成新快照，读操作无需加锁
  */
 @Slf4j
 public abstract class AbstractDataSource {
@@ -35,9 +38,7 @@ public abstract class AbstractDataSource {
     @Resource
     private StarBotEventHandlerService handlerService;
 
-    protected final List<PushUser> users = new ArrayList<>();
-
-    private final Map<String, Map<Long, PushUser>> userMap = new HashMap<>();
+    private volatile DataSourceSnapshot snapshot = DataSourceSnapshot.EMPTY;
 
     /**
      * 加载数据源，读取完毕后需调用 add 方法将推送用户添加至数据源中
@@ -60,6 +61,81 @@ public abstract class AbstractDataSource {
      * @param users 推送用户列表
      */
     public synchronized void add(@NonNull List<PushUser> users) {
+        prepareAdd(users);
+        this.snapshot = this.snapshot.withChanges(users, List.of(), List.of());
+        publishChanges(users, List.of(), List.of());
+    }
+
+    /**
+     * 移除推送用户
+     * @param user 推送用户
+     */
+    public synchronized void remove(@NonNull PushUser user) {
+        prepareRemove(user);
+        this.snapshot = this.snapshot.withChanges(List.of(), List.of(user), List.of());
+        publishChanges(List.of(), List.of(user), List.of());
+    }
+
+    /**
+     * 更新推送用户
+     * @param user 推送用户
+     */
+    public synchronized void update(@NonNull PushUser user) {
+        boolean exists = this.snapshot.getUser(this.snapshot.findPlatformId(user.getPlatform()), user.getUid()) != null;
+        if (user.getEnabled() && !exists) {
+            add(user);
+            return;
+        }
+
+        if (!user.getEnabled() && exists) {
+            remove(user);
+            return;
+        }
+
+        prepareUpdate(user);
+        this.snapshot = this.snapshot.withChanges(List.of(), List.of(), List.of(user));
+        publishChanges(List.of(), List.of(), List.of(user));
+    }
+
+    /**
+     * 批量变更推送用户，全部变更校验通过后一次性生成新快照，再依次发布新增、移除与更新事件
+     * 更新的推送用户被启用或禁用时分别按新增与移除处理，与 update 方法一致
+     * @param added 新增的推送用户
+     * @param removed 移除的推送用户
+     * @param updated 更新后的推送用户
+     */
+    public synchronized void change(@NonNull List<PushUser> added, @NonNull List<PushUser> removed, @NonNull List<PushUser> updated) {
+        List<PushUser> addUsers = new ArrayList<>(added);
+        List<PushUser> removeUsers = new ArrayList<>(removed);
+        List<PushUser> updateUsers = new ArrayList<>();
+        for (PushUser user : updated) {
+            boolean exists = this.snapshot.getUser(this.snapshot.findPlatformId(user.getPlatform()), user.getUid()) != null;
+            if (user.getEnabled() && !exists) {
+                addUsers.add(user);
+            } else if (!user.getEnabled() && exists) {
+                removeUsers.add(user);
+            } else {
+                updateUsers.add(user);
+            }
+        }
+
+        prepareAdd(addUsers);
+        for (PushUser user : removeUsers) {
+            prepareRemove(user);
+        }
+        for (PushUser user : updateUsers) {
+            prepareUpdate(user);
+        }
+
+        this.snapshot = this.snapshot.withChanges(addUsers, removeUsers, updateUsers);
+        publishChanges(addUsers, removeUsers, updateUsers);
+    }
+
+    /**
+     * 校验并补全待添加的推送用户，移除其中未启用的推送用户、推送目标与推送消息
+     * @param users 推送用户列表
+     */
+    private void prepareAdd(@NonNull List<PushUser> users) {
         users.removeIf(user -> !user.getEnabled());
 
         if (new HashSet<>(users).size() != users.size()) {
@@ -67,7 +143,7 @@ public abstract class AbstractDataSource {
         }
 
         for (PushUser user: users) {
-            if (this.userMap.containsKey(user.getPlatform()) && this.userMap.get(user.getPlatform()).containsKey(user.getUid())) {
+            if (this.snapshot.getUser(this.snapshot.findPlatformId(user.getPlatform()), user.getUid()) != null) {
                 throw new DataSourceException("数据源中已存在该推送用户 (平台: " + user.getPlatform() + ", UID: " + user.getUid() + "), 无法重复添加");
             }
         }
@@ -86,59 +162,30 @@ public abstract class AbstractDataSource {
                     .completePushUsers(platformMap.get(platform));
         }
 
-        this.users.addAll(users);
         for (PushUser user: users) {
-            this.userMap.computeIfAbsent(user.getPlatform(), k -> new HashMap<>()).put(user.getUid(), user);
-
             initPushMessageParams(user);
-
-            log.info("新增推送用户: (UID: {}, 昵称: {}, 房间号: {}, 平台: {})", user.getUid(), user.getUname(), user.getRoomId(), user.getPlatform());
-
-            StarBotDataSourceAddEvent event = new StarBotDataSourceAddEvent(user, Instant.now());
-            eventPublisher.publishEvent(event);
         }
     }
 
     /**
-     * 移除推送用户
+     * 校验并补全待移除的推送用户
      * @param user 推送用户
      */
-    public synchronized void remove(@NonNull PushUser user) {
-        if (!this.userMap.containsKey(user.getPlatform()) || !this.userMap.get(user.getPlatform()).containsKey(user.getUid())) {
+    private void prepareRemove(@NonNull PushUser user) {
+        if (this.snapshot.getUser(this.snapshot.findPlatformId(user.getPlatform()), user.getUid()) == null) {
             throw new DataSourceException("数据源中不存在该推送用户 (平台: " + user.getPlatform() + ", UID: " + user.getUid() + "), 无需移除");
         }
 
         dataSourceServiceRegistry.getDataSourceService(user.getPlatform())
                 .orElseThrow(() -> new DataSourceException("未找到数据源服务实现类: " + user.getPlatform()))
                 .completePushUser(user);
-
-        this.userMap.get(user.getPlatform()).remove(user.getUid());
-        if (this.userMap.get(user.getPlatform()).isEmpty()) {
-            this.userMap.remove(user.getPlatform());
-        }
-        this.users.remove(user);
-
-        log.info("移除推送用户: (UID: {}, 昵称: {}, 房间号: {}, 平台: {})", user.getUid(), user.getUname(), user.getRoomId(), user.getPlatform());
-
-        StarBotDataSourceRemoveEvent event = new StarBotDataSourceRemoveEvent(user, Instant.now());
-        eventPublisher.publishEvent(event);
     }
 
     /**
-     * 更新推送用户
+     * 校验并补全待更新的推送用户，移除其中未启用的推送目标与推送消息
      * @param user 推送用户
      */
-    public synchronized void update(@NonNull PushUser user) {
-        if (user.getEnabled() && (!this.userMap.containsKey(user.getPlatform()) || !this.userMap.get(user.getPlatform()).containsKey(user.getUid()))) {
-            add(user);
-            return;
-        }
-
-        if (!user.getEnabled() && this.userMap.containsKey(user.getPlatform()) && this.userMap.get(user.getPlatform()).containsKey(user.getUid())) {
-            remove(user);
-            return;
-        }
-
+    private void prepareUpdate(@NonNull PushUser user) {
         user.getTargets().removeIf(target -> !target.getEnabled());
         for (PushTarget target: user.getTargets()) {
             target.getMessages().removeIf(message -> !message.getEnabled());
@@ -148,23 +195,45 @@ public abstract class AbstractDataSource {
                 .orElseThrow(() -> new DataSourceException("未找到数据源服务实现类: " + user.getPlatform()))
                 .completePushUser(user);
 
-        PushUser oldUser = this.userMap.get(user.getPlatform()).get(user.getUid());
+        PushUser oldUser = this.snapshot.getUser(this.snapshot.findPlatformId(user.getPlatform()), user.getUid());
         if (oldUser == null) {
             throw new DataSourceException("数据源中不存在该推送用户 (平台: " + user.getPlatform() + ", UID: " + user.getUid() + "), 无法更新");
         }
 
-        this.userMap.get(user.getPlatform()).put(user.getUid(), user);
-
         initPushMessageParams(user);
+    }
 
-        log.info("更新推送用户: (UID: {}, 昵称: {}, 房间号: {}, 平台: {})", user.getUid(), user.getUname(), user.getRoomId(), user.getPlatform());
+    /**
+     * 发布推送用户变更事件，需在新快照生效后调用
+     * @param added 新增的推送用户
+     * @param removed 移除的推送用户
+     * @param updated 更新后的推送用户
+     */
+    private void publishChanges(List<PushUser> added, List<PushUser> removed, List<PushUser> updated) {
+        for (PushUser user: added) {
+            log.info("新增推送用户: (UID: {}, 昵称: {}, 房间号: {}, 平台: {})", user.getUid(), user.getUname(), user.getRoomId(), user.getPlatform());
 
-        StarBotDataSourceUpdateEvent event = new StarBotDataSourceUpdateEvent(user, Instant.now());
-        eventPublisher.publishEvent(event);
+            StarBotDataSourceAddEvent event = new StarBotDataSourceAddEvent(user, Instant.now());
+            eventPublisher.publishEvent(event);
+        }
+
+        for (PushUser user: removed) {
+            log.info("移除推送用户: (UID: {}, 昵称: {}, 房间号: {}, 平台: {})", user.getUid(), user.getUname(), user.getRoomId(), user.getPlatform());
+
+            StarBotDataSourceRemoveEvent event = new StarBotDataSourceRemoveEvent(user, Instant.now());
+            eventPublisher.publishEvent(event);
+        }
+
+        for (PushUser user: updated) {
+            log.info("更新推送用户: (UID: {}, 昵称: {}, 房间号: {}, 平台: {})", user.getUid(), user.getUname(), user.getRoomId(), user.getPlatform());
+
+            StarBotDataSourceUpdateEvent event = new StarBotDataSourceUpdateEvent(user, Instant.now());
+            eventPublisher.publishEvent(event);
+        }
     }
 
     /**
-     * 初始化推送消息参数
+     * 初始化推送消息参数，同时将解析出的事件处理器与编译后的事件预过滤器绑定至推送消息
      * @param user 推送用户
      */
     private void initPushMessageParams(@NonNull PushUser user) {
@@ -173,10 +242,13 @@ public abstract class AbstractDataSource {
                 Optional<StarBotEventHandler> optionalHandler = handlerService.getHandler(message.getEvent(), message.getHandler());
                 if (optionalHandler.isPresent()) {
                     StarBotEventHandler handler = optionalHandler.get();
+                    message.setEventHandler(handler);
                     message.setParamsJsonObject(handler.getDefaultParams());
                 } else {
+                    message.setEventHandler(null);
+                    message.setEventFilter(null);
                     message.setParamsJsonObject(new JSONObject());
-                    log.error("事件 {} 未配置处理器且不存在默认处理器, 请检查推送配置", message.getEvent());
+                    log.error("未找到事件 {} 的处理器 {}, 请检查推送配置是否正确", message.getEvent(), message.getHandler() != null ? message.getHandler() : "(默认处理器)");
                     continue;
                 }
 
@@ -190,16 +262,69 @@ public abstract class AbstractDataSource {
                         log.error("解析推送消息参数失败, 请检查格式是否正确: {}", message.getParams(), e);
                     }
                 }
+
+                try {
+                    message.setEventFilter(StarBotEventFilter.compile(message.getParamsJsonObject().getJSONObject(StarBotEventFilter.PARAM_KEY)));
+                } catch (Exception e) {
+                    message.setEventFilter(null);
+                    log.error("编译推送消息过滤配置失败, 该推送消息将不进行预过滤: {}", message.getParams(), e);
+                }
             }
         }
     }
 
+    /**
+     * 根据直播平台和 UID 获取共享的主播信息，事件生产者可直接引用该实例，无需为每个事件创建主播信息
+     * 主播信息不可变，变化时将替换为新实例，已被事件引用的旧实例保持不变
+     * @param livePlatform 直播平台
+     * @param uid UID
+     * @return 共享的主播信息，不存在该推送用户时返回空
+     */
+    public Optional<LiveStreamerInfo> getStreamer(@NonNull String livePlatform, @NonNull Long uid) {
+        return Optional.ofNullable(this.snapshot.getStreamer(this.snapshot.findPlatformId(livePlatform), uid));
+    }
+
+    /**
+     * 根据直播平台编号和 UID 获取共享的主播信息，查询过程不产生额外对象
+     * @param platformId 直播平台编号，通过 getPlatformId 获取
+     * @param uid UID
+     * @return 共享的主播信息，不存在该推送用户时返回 null
+     */
+    public LiveStreamerInfo getStreamerOrNull(int platformId, long uid) {
+        return this.snapshot.getStreamer(platformId, uid);
+    }
+
+    /**
+     * 获取数据源版本号，推送用户每次变更后递增，可用于判断基于数据源构建的缓存是否过期
+     * @return 数据源版本号
+     */
+    public long getVersion() {
+        return this.snapshot.getVersion();
+    }
+
     /**
      * 获取推送用户列表
-     * @return 推送用户列表
+     * @return 推送用户列表，为调用时数据源一致快照的副本
      */
     public List<PushUser> getAllUsers() {
-        return new ArrayList<>(users);
+        return new ArrayList<>(this.snapshot.getUsers());
+    }
+
+    /**
+     * 获取推送用户数量
+     * @return 推送用户数量
+     */
+    public int getUserCount() {
+        return this.snapshot.getUsers().size();
+    }
+
+    /**
+     * 获取直播平台编号，调用方可缓存该编号，避免每次查询时对直播平台名称进行哈希
+     * @param livePlatform 直播平台
+     * @return 直播平台编号，数据源中从未出现过该直播平台时返回 -1
+     */
+    public int getPlatformId(@NonNull String livePlatform) {
+        return this.snapshot.findPlatformId(livePlatform);
     }
 
     /**
@@ -208,9 +333,7 @@ public abstract class AbstractDataSource {
      * @return 推送用户列表
      */
     public List<PushUser> getUsers(@NonNull String livePlatform) {
-        return Optional.ofNullable(this.userMap.get(livePlatform))
-                .map(map -> new ArrayList<>(map.values()))
-                .orElse(new ArrayList<>());
+        return this.snapshot.getUsers(this.snapshot.findPlatformId(livePlatform));
     }
 
     /**
@@ -220,10 +343,34 @@ public abstract class AbstractDataSource {
      * @return 推送用户
      */
     public Optional<PushUser> getUser(@NonNull String livePlatform, @NonNull Long uid) {
-        if (this.userMap.containsKey(livePlatform)) {
-            return Optional.ofNullable(this.userMap.get(livePlatform).get(uid));
-        } else {
-            return Optional.empty();
-        }
+        return Optional.ofNullable(getUserOrNull(livePlatform, uid));
+    }
+
+    /**
+     * 根据直播平台和 UID 获取推送用户，查询过程不产生额外对象
+     * @param livePlatform 直播平台
+     * @param uid UID
+     * @return 推送用户，不存在时返回 null
+     */
+    public PushUser getUserOrNull(@NonNull String livePlatform, long uid) {
+        return this.snapshot.getUser(this.snapshot.findPlatformId(livePlatform), uid);
+    }
+
+    /**
+     * 根据直播平台编号和 UID 获取推送用户，查询过程不产生额外对象
+     * @param platformId 直播平台编号，通过 getPlatformId 获取
+     * @param uid UID
+     * @return 推送用户，不存在时返回 null
+     */
+    public PushUser getUserOrNull(int platformId, long uid) {
+        return this.snapshot.getUser(platformId, uid);
+    }
+
+    /**
+     * 估算推送用户索引占用的内存，不含推送用户对象本身，单位：字节
+     * @return 估算的内存占用
+     */
+    public long estimateIndexFootprint() {
+        return this.snapshot.estimateFootprint();
     }
 }
@@ -0,0 +1,223 @@
+package com.starlwr.bot.core.datasource;
+
+import com.starlwr.bot.core.model.LiveStreamerInfo;
+import com.starlwr.bot.core.model.PushUser;
+import com.starlwr.bot.core.util.LongObjectMap;
+
+import java.util.*;
+
+/**
+ * 数据源的不可变快照，数据源变更时复制受影响的部分生成新快照，读取方无需加锁即可获得一致的视图
+ * 直播平台被映射为从 0 开始的整数编号，每个平台的推送用户以基本类型 UID 为键存储，查询过程不产生额外对象
+ * 直播平台编号由快照持有并随变更传递给新快照，同一数据源内的编号保持不变，不同数据源的编号相互独立
+ */
+final class DataSourceSnapshot {
+    static final DataSourceSnapshot EMPTY = new DataSourceSnapshot(0, List.of(), Map.of(), new PlatformIndex[0]);
+
+    private final long version;
+
+    private final List<PushUser> users;
+
+    private final Map<String, Integer> platformIds;
+
+    private final PlatformIndex[] platforms;
+
+    private DataSourceSnapshot(long version, List<PushUser> users, Map<String, Integer> platformIds, PlatformIndex[] platforms) {
+        this.version = version;
+        this.users = users;
+        this.platformIds = platformIds;
+        this.platforms = platforms;
+    }
+
+    /**
+     * 获取直播平台编号
+     * @param platform 直播平台
+     * @return 直播平台编号，直播平台从未出现过时返回 -1
+     */
+    int findPlatformId(String platform) {
+        Integer id = platformIds.get(platform);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * 生成批量变更推送用户后的新快照，每个受影响的直播平台索引只复制一次，主播信息未变化的推送用户保留原有的共享实例
+     * @param added 新增的推送用户
+     * @param removed 移除的推送用户
+     * @param updated 更新后的推送用户，需已存在于快照中
+     * @return 新快照
+     */
+    DataSourceSnapshot withChanges(List<PushUser> added, List<PushUser> removed, List<PushUser> updated) {
+        Map<String, Integer> newPlatformIds = assignPlatformIds(added, removed, updated);
+        PlatformIndex[] newPlatforms = platforms;
+        Set<Integer> copied = new HashSet<>();
+
+        for (PushUser user : removed) {
+            int id = newPlatformIds.get(user.getPlatform());
+            if (copied.add(id)) {
+                newPlatforms = copyOnWrite(newPlatforms, id);
+            }
+            newPlatforms[id].users.remove(user.getUid());
+            newPlatforms[id].streamers.remove(user.getUid());
+        }
+
+        for (PushUser user : updated) {
+            int id = newPlatformIds.get(user.getPlatform());
+            if (copied.add(id)) {
+                newPlatforms = copyOnWrite(newPlatforms, id);
+            }
+            newPlatforms[id].users.put(user.getUid(), user);
+            LiveStreamerInfo current = newPlatforms[id].streamers.get(user.getUid());
+            if (current == null || !Objects.equals(current.getUname(), user.getUname()) || !Objects.equals(current.getRoomId(), user.getRoomId()) || !Objects.equals(current.getFace(), user.getFace())) {
+                newPlatforms[id].streamers.put(user.getUid(), toStreamer(user));
+            }
+        }
+
+        for (PushUser user : added) {
+            int id = newPlatformIds.get(user.getPlatform());
+            if (copied.add(id)) {
+                newPlatforms = copyOnWrite(newPlatforms, id);
+            }
+            newPlatforms[id].users.put(user.getUid(), user);
+            newPlatforms[id].streamers.put(user.getUid(), toStreamer(user));
+        }
+
+        for (int id : copied) {
+            if (newPlatforms[id].users.isEmpty()) {
+                newPlatforms[id] = null;
+            }
+        }
+
+        // 按新索引重建推送用户列表，保持原有顺序，被更新的推送用户替换为新实例
+        List<PushUser> newUsers = new ArrayList<>(users.size() + added.size());
+        for (PushUser user : users) {
+            PlatformIndex index = platform(newPlatforms, newPlatformIds.get(user.getPlatform()));
+            PushUser current = index != null ? index.users.get(user.getUid()) : null;
+            if (current != null) {
+                newUsers.add(current);
+            }
+        }
+        newUsers.addAll(added);
+
+        return new DataSourceSnapshot(version + 1, Collections.unmodifiableList(newUsers), newPlatformIds, newPlatforms);
+    }
+
+    /**
+     * 为变更中首次出现的直播平台分配新编号，已有编号保持不变
+     * @return 直播平台编号，没有新的直播平台时返回当前快照的编号
+     */
+    @SafeVarargs
+    private Map<String, Integer> assignPlatformIds(List<PushUser>... changes) {
+        Map<String, Integer> newPlatformIds = platformIds;
+        for (List<PushUser> change : changes) {
+            for (PushUser user : change) {
+                if (!newPlatformIds.containsKey(user.getPlatform())) {
+                    if (newPlatformIds == platformIds) {
+                        newPlatformIds = new HashMap<>(platformIds);
+                    }
+                    newPlatformIds.put(user.getPlatform(), newPlatformIds.size());
+                }
+            }
+        }
+        return newPlatformIds == platformIds ? platformIds : Collections.unmodifiableMap(newPlatformIds);
+    }
+
+    /**
+     * 获取快照版本号，每次变更递增
+     * @return 版本号
+     */
+    long getVersion() {
+        return version;
+    }
+
+    /**
+     * 获取全部推送用户
+     * @return 不可修改的推送用户列表
+     */
+    List<PushUser> getUsers() {
+        return users;
+    }
+
+    /**
+     * 获取指定直播平台的推送用户
+     * @param platformId 直播平台编号
+     * @return 推送用户列表
+     */
+    List<PushUser> getUsers(int platformId) {
+        PlatformIndex index = platform(platformId);
+        return index != null ? index.users.values() : new ArrayList<>();
+    }
+
+    /**
+     * 获取推送用户
+     * @param platformId 直播平台编号
+     * @param uid UID
+     * @return 推送用户，不存在时返回 null
+     */
+    PushUser getUser(int platformId, long uid) {
+        PlatformIndex index = platform(platformId);
+        return index != null ? index.users.get(uid) : null;
+    }
+
+    /**
+     * 获取共享的主播信息
+     * @param platformId 直播平台编号
+     * @param uid UID
+     * @return 主播信息，不存在时返回 null
+     */
+    LiveStreamerInfo getStreamer(int platformId, long uid) {
+        PlatformIndex index = platform(platformId);
+        return index != null ? index.streamers.get(uid) : null;
+    }
+
+    /**
+     * 估算索引占用的数组内存，不含推送用户与主播信息对象本身，单位：字节
+     * @return 估算的内存占用
+     */
+    long estimateFootprint() {
+        long footprint = 16L + (long) platforms.length * 4L;
+        for (PlatformIndex index : platforms) {
+            if (index != null) {
+                footprint += index.users.estimateFootprint() + index.streamers.estimateFootprint();
+            }
+        }
+        return footprint;
+    }
+
+    private PlatformIndex platform(int platformId) {
+        return platform(platforms, platformId);
+    }
+
+    private static PlatformIndex platform(PlatformIndex[] platforms, int platformId) {
+        return platformId >= 0 && platformId < platforms.length ? platforms[platformId] : null;
+    }
+
+    /**
+     * 复制平台索引数组，并复制指定平台的索引以便修改，其余平台的索引与原快照共享
+     */
+    private static PlatformIndex[] copyOnWrite(PlatformIndex[] platforms, int platformId) {
+        PlatformIndex[] copy = Arrays.copyOf(platforms, Math.max(platforms.length, platformId + 1));
+        PlatformIndex source = copy[platformId];
+        copy[platformId] = source != null ? new PlatformIndex(source) : new PlatformIndex();
+        return copy;
+    }
+
+    private static LiveStreamerInfo toStreamer(PushUser user) {
+        return new LiveStreamerInfo(user.getUid(), user.getUname(), user.getRoomId(), user.getFace());
+    }
+
+    private static final class PlatformIndex {
+        private final LongObjectMap<PushUser> users;
+
+        private final LongObjectMap<LiveStreamerInfo> streamers;
+
+        private PlatformIndex() {
+            this.users = new LongObjectMap<>();
+            this.streamers = new LongObjectMap<>();
+        }
+
+        private PlatformIndex(PlatformIndex source) {
+            this.users = new LongObjectMap<>(source.users);
+            this.streamers = new LongObjectMap<>(source.streamers);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.starlwr.bot.core.datasource;
 
 import com.alibaba.fastjson2.JSON;
 import com.alibaba.fastjson2.JSONObject;
+import com.alibaba.fastjson2.JSONWriter;
 import com.starlwr.bot.core.config.StarBotCoreProperties;
 import com.starlwr.bot.core.enums.PushTargetType;
 import com.starlwr.bot.core.event.datasource.other.StarBotDataSourceLoadCompleteEvent;
@@ -18,7 +19,9 @@ import org.springframework.stereotype.Service;
 import java.nio.file.*;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -43,6 +46,8 @@ public class JsonDataSource extends AbstractDataSource {
 
     private final long debounceDelayMillis = 1000L;
 
+    private volatile Map<UserKey, Long> contentHashes = new HashMap<>();
+
     /**
      * 加载数据源，读取完毕后需调用 add 方法将推送用户添加至数据源中
      * PushUser 仅须填充 uid, platform, enabled, targets 字段
@@ -57,14 +62,16 @@ public class JsonDataSource extends AbstractDataSource {
         String path = properties.getDatasource().getJsonPath();
         try {
             List<PushUser> users = parse(Files.readString(Path.of(path)));
+            Map<UserKey, Long> hashes = computeContentHashes(users);
             add(users);
+            contentHashes = hashes;
         } catch (NoSuchFileException e) {
             throw new DataSourceException("数据源 JSON 文件不存在, 请检查配置的路径是否正确: " + path);
         } catch (Exception e) {
             throw new DataSourceException("读取数据源 JSON 文件异常", e);
         }
 
-        log.info("成功从 JSON 中导入了 {} 个主播", this.users.size());
+        log.info("成功从 JSON 中导入了 {} 个主播", getUserCount());
 
         eventPublisher.publishEvent(new StarBotDataSourceLoadCompleteEvent(Instant.now()));
 
@@ -122,7 +129,7 @@ public class JsonDataSource extends AbstractDataSource {
     }
 
     /**
-     * 重载数据源
+     * 重载数据源，仅更新推送配置内容发生变化的推送用户
      */
     private void reload() {
         String path = properties.getDatasource().getJsonPath();
@@ -132,20 +139,87 @@ public class JsonDataSource extends AbstractDataSource {
             List<PushUser> updateUsers = new ArrayList<>();
 
             List<PushUser> users = parse(Files.readString(Path.of(path)));
-            CollectionUtil.compareCollectionDiff(this.users, users, addUsers, removeUsers, updateUsers);
+            Map<UserKey, Long> hashes = computeContentHashes(users);
+            CollectionUtil.compareCollectionDiff(getAllUsers(), users, addUsers, removeUsers, updateUsers);
 
-            add(addUsers);
-            for (PushUser user : removeUsers) {
-                remove(user);
-            }
+            List<PushUser> changedUsers = new ArrayList<>();
             for (PushUser user : updateUsers) {
-                update(user);
+                UserKey key = new UserKey(user.getPlatform(), user.getUid());
+                if (!hashes.get(key).equals(contentHashes.get(key))) {
+                    changedUsers.add(user);
+                }
             }
+            addUsers.removeIf(user -> !user.getEnabled());
+
+            change(addUsers, removeUsers, changedUsers);
+            contentHashes = hashes;
+
+            log.info("数据源 JSON 文件重载完成, 新增: {}, 移除: {}, 变更: {}, 未变更: {}", addUsers.size(), removeUsers.size(), changedUsers.size(), updateUsers.size() - changedUsers.size());
         } catch (Exception e) {
             log.error("重载数据源 JSON 文件异常", e);
         }
     }
 
+    /**
+     * 计算推送用户的推送配置内容哈希，需在推送用户被添加至数据源前计算
+     * @param users 推送用户列表
+     * @return 推送用户与内容哈希的映射
+     */
+    private Map<UserKey, Long> computeContentHashes(List<PushUser> users) {
+        Map<UserKey, Long> hashes = new HashMap<>();
+        for (PushUser user : users) {
+            hashes.put(new UserKey(user.getPlatform(), user.getUid()), computeContentHash(user));
+        }
+        return hashes;
+    }
+
+    /**
+     * 计算推送用户的推送配置内容哈希，涵盖启用状态、推送目标、推送消息及参数，参数中的键顺序不影响结果
+     * @param user 推送用户
+     * @return 内容哈希
+     */
+    private static long computeContentHash(PushUser user) {
+        StringBuilder builder = new StringBuilder();
+        builder.append(user.getEnabled());
+        for (PushTarget target : user.getTargets()) {
+            builder.append("\u0001").append(target.getPlatform())
+                    .append('\u0000').append(target.getType())
+                    .append('\u0000').append(target.getNum())
+                    .append('\u0000').append(target.getEnabled());
+            for (PushMessage message : target.getMessages()) {
+                builder.append("\u0002").append(message.getEvent())
+                        .append('\u0000').append(message.getHandler())
+                        .append('\u0000').append(normalizeParams(message.getParams()))
+                        .append('\u0000').append(message.getEnabled());
+            }
+        }
+
+        // FNV-1a 64 位哈希
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < builder.length(); i++) {
+            hash ^= builder.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * 将推送消息参数按键排序后序列化，参数无法解析时返回原始内容，解析错误在初始化推送消息参数时记录
+     * @param params 推送消息参数
+     * @return 规范化后的推送消息参数
+     */
+    private static String normalizeParams(String params) {
+        if (params == null) {
+            return null;
+        }
+
+        try {
+            return JSON.toJSONString(JSON.parseObject(params), JSONWriter.Feature.SortMapEntriesByKeys);
+        } catch (Exception e) {
+            return params;
+        }
+    }
+
     /**
      * 解析 JSON 数据
      * @param json JSON 数据
@@ -228,4 +302,7 @@ public class JsonDataSource extends AbstractDataSource {
 
         return users;
     }
+
+    private record UserKey(String platform, Long uid) {
+    }
 }
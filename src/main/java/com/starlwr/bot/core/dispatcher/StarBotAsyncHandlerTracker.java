@@ -0,0 +1,219 @@
+package com.starlwr.bot.core.dispatcher;
+
+import com.starlwr.bot.core.event.StarBotExternalBaseEvent;
+import com.starlwr.bot.core.handler.StarBotAsyncEventHandler;
+import com.starlwr.bot.core.model.PushMessage;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 异步事件处理器跟踪器，限制同时进行中的异步处理数量，并统计完成数量、异常数量与耗时
+ * 进行中的数量达到上限时直接丢弃新的事件并计数，不阻塞事件处理线程；执行许可仅在事件处理器返回的 Future 真正结束时释放
+ * 每个异步处理均有超时时间，超时后不再等待其结果并记为超时，但其执行许可仍被占用至 Future 结束
+ */
+@Slf4j
+public class StarBotAsyncHandlerTracker {
+    private final int maxInFlight;
+
+    private final Semaphore permits;
+
+    private final long timeoutMillis;
+
+    private final LongAdder completedCount = new LongAdder();
+
+    private final LongAdder failedCount = new LongAdder();
+
+    private final LongAdder timeoutCount = new LongAdder();
+
+    private final LongAdder timedOutInFlight = new LongAdder();
+
+    private final LongAdder droppedCount = new LongAdder();
+
+    private final LongAdder finishedCount = new LongAdder();
+
+    private final LongAdder totalLatencyNanos = new LongAdder();
+
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    /**
+     * @param maxInFlight 同时进行中的异步处理数量上限，达到上限时丢弃新的事件
+     * @param timeoutMillis 单个异步处理的超时时间，单位：毫秒
+     */
+    public StarBotAsyncHandlerTracker(int maxInFlight, long timeoutMillis) {
+        this.maxInFlight = maxInFlight;
+        this.permits = new Semaphore(maxInFlight);
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * 调用异步事件处理器
+     * @param handler 异步事件处理器
+     * @param event 事件
+     * @param message 推送消息
+     * @return 异步处理结束 (完成、异常、超时或被丢弃) 时完成的 Future，不会异常完成
+     */
+    public CompletableFuture<Void> invoke(StarBotAsyncEventHandler handler, StarBotExternalBaseEvent event, PushMessage message) {
+        return execute(handler, event, () -> handler.handleAsync(event, message));
+    }
+
+    /**
+     * 执行异步事件处理器的调用
+     * @param handler 异步事件处理器
+     * @param event 事件，用于记录日志
+     * @param call 异步事件处理器调用
+     * @return 异步处理结束 (完成、异常、超时或被丢弃) 时完成的 Future，不会异常完成
+     */
+    public CompletableFuture<Void> execute(StarBotAsyncEventHandler handler, StarBotExternalBaseEvent event, Supplier<CompletableFuture<Void>> call) {
+        if (!permits.tryAcquire()) {
+            drop(handler, event);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        long start = System.nanoTime();
+        CompletableFuture<Void> future;
+        try {
+            future = call.get();
+        } catch (Exception e) {
+            finish(handler, event, start, e, done);
+            return done;
+        }
+
+        if (future == null) {
+            finish(handler, event, start, null, done);
+            return done;
+        }
+
+        // 在副本上设置超时，不影响事件处理器持有的原 Future，超时仅结束等待，执行许可由原 Future 结束时释放
+        future.copy()
+                .orTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+                .whenComplete((result, e) -> {
+                    if (e instanceof TimeoutException) {
+                        timeout(handler, event, done);
+                    }
+                });
+        future.whenComplete((result, e) -> finish(handler, event, start, e, done));
+        return done;
+    }
+
+    private void drop(StarBotAsyncEventHandler handler, StarBotExternalBaseEvent event) {
+        droppedCount.increment();
+        long count = droppedCount.sum();
+        if (count % 1000 == 1) {
+            log.warn("进行中的异步事件处理数量已达到上限 {}, 已累计丢弃 {} 个事件, 最近丢弃: {} ({})", maxInFlight, count, event.getClass().getSimpleName(), handler.getClass().getName());
+        }
+    }
+
+    private void timeout(StarBotAsyncEventHandler handler, StarBotExternalBaseEvent event, CompletableFuture<Void> done) {
+        // 先计数再结束等待，等待方被唤醒时即可观察到超时计数
+        timeoutCount.increment();
+        timedOutInFlight.increment();
+        if (!done.complete(null)) {
+            timeoutCount.decrement();
+            timedOutInFlight.decrement();
+            return;
+        }
+
+        log.warn("异步事件处理器 {} 处理事件 {} 超过 {} 毫秒未完成, 不再等待其结果, 执行许可将在其完成后释放", handler.getClass().getName(), event.getClass().getName(), timeoutMillis);
+    }
+
+    private void finish(StarBotAsyncEventHandler handler, StarBotExternalBaseEvent event, long start, Throwable e, CompletableFuture<Void> done) {
+        permits.release();
+
+        long latency = System.nanoTime() - start;
+        finishedCount.increment();
+        totalLatencyNanos.add(latency);
+        long max = maxLatencyNanos.get();
+        while (latency > max && !maxLatencyNanos.compareAndSet(max, latency)) {
+            max = maxLatencyNanos.get();
+        }
+
+        if (!done.complete(null)) {
+            // 已记为超时的异步处理最终结束
+            timedOutInFlight.decrement();
+            if (e != null) {
+                log.error("异步事件处理器 {} 处理事件 {} 超时后异常结束", handler.getClass().getName(), event.getClass().getName(), e);
+            }
+            return;
+        }
+
+        if (e != null) {
+            failedCount.increment();
+            log.error("异步事件处理器 {} 处理事件 {} 异常", handler.getClass().getName(), event.getClass().getName(), e);
+        } else {
+            completedCount.increment();
+        }
+    }
+
+    /**
+     * 获取进行中的异步处理数量
+     * @return 进行中的数量
+     */
+    public int getInFlight() {
+        return maxInFlight - permits.availablePermits();
+    }
+
+    /**
+     * 获取成功完成的异步处理数量
+     * @return 完成数量
+     */
+    public long getCompletedCount() {
+        return completedCount.sum();
+    }
+
+    /**
+     * 获取异常结束的异步处理数量
+     * @return 异常数量
+     */
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
+    /**
+     * 获取超时未完成的异步处理数量
+     * @return 超时数量
+     */
+    public long getTimeoutCount() {
+        return timeoutCount.sum();
+    }
+
+    /**
+     * 获取已超时但仍未结束、仍占用执行许可的异步处理数量
+     * @return 进行中的超时数量
+     */
+    public long getTimedOutInFlight() {
+        return timedOutInFlight.sum();
+    }
+
+    /**
+     * 获取因进行中的数量达到上限而被丢弃的事件数量
+     * @return 丢弃数量
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    /**
+     * 获取异步处理平均耗时，单位：毫秒
+     * @return 平均耗时
+     */
+    public double getAverageLatencyMillis() {
+        long count = finishedCount.sum();
+        return count == 0 ? 0 : totalLatencyNanos.sum() / 1_000_000.0 / count;
+    }
+
+    /**
+     * 获取异步处理最大耗时，单位：毫秒
+     * @return 最大耗时
+     */
+    public double getMaxLatencyMillis() {
+        return maxLatencyNanos.get() / 1_000_000.0;
+    }
+}
@@ -0,0 +1,105 @@
+package com.starlwr.bot.core.dispatcher;
+
+import com.starlwr.bot.core.event.StarBotExternalBaseEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 事件订阅的批量缓冲区，用于批量事件处理器
+ */
+public class StarBotEventBatch {
+    private final int maxSize;
+
+    private List<StarBotExternalBaseEvent> events;
+
+    private List<StarBotEventCompletion> completions;
+
+    private long generation;
+
+    public StarBotEventBatch(int maxSize) {
+        this.maxSize = Math.max(1, maxSize);
+        this.events = new ArrayList<>();
+        this.completions = new ArrayList<>();
+    }
+
+    /**
+     * 向缓冲区添加事件
+     * @param event 事件
+     * @param completion 事件的完成跟踪，将增加一次引用并在取出的批次处理结束时释放
+     * @return 添加结果
+     */
+    public synchronized AddResult add(StarBotExternalBaseEvent event, StarBotEventCompletion completion) {
+        events.add(event);
+        if (completion != null) {
+            StarBotEventCompletion.retain(completion);
+            completions.add(completion);
+        }
+        if (events.size() >= maxSize) {
+            return AddResult.FULL;
+        }
+        return events.size() == 1 ? AddResult.FIRST : AddResult.ADDED;
+    }
+
+    /**
+     * 获取当前批次代数，每次取出缓冲区内容后递增
+     * @return 批次代数
+     */
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * 取出缓冲区中的全部事件
+     * @return 取出的批次
+     */
+    public synchronized Drained drain() {
+        return drain(generation);
+    }
+
+    /**
+     * 若批次代数未发生变化，取出缓冲区中的全部事件，用于延时刷新时避免刷新已被提前取出的批次
+     * @param expectedGeneration 期望的批次代数
+     * @return 取出的批次，批次代数不一致或缓冲区为空时返回空批次
+     */
+    public synchronized Drained drain(long expectedGeneration) {
+        if (expectedGeneration != generation || events.isEmpty()) {
+            return Drained.EMPTY;
+        }
+
+        Drained drained = new Drained(events, StarBotEventCompletion.all(completions));
+        events = new ArrayList<>();
+        completions = new ArrayList<>();
+        generation++;
+        return drained;
+    }
+
+    /**
+     * 取出的批次
+     * @param events 事件列表
+     * @param completion 批次内事件合并后的完成跟踪，由处理批次的调用者释放
+     */
+    public record Drained(List<StarBotExternalBaseEvent> events, StarBotEventCompletion completion) {
+        private static final Drained EMPTY = new Drained(List.of(), null);
+    }
+
+    /**
+     * 添加结果
+     */
+    public enum AddResult {
+        /**
+         * 缓冲区中的第一个事件，需安排延时刷新
+         */
+        FIRST,
+
+        /**
+         * 已加入缓冲区
+         */
+        ADDED,
+
+        /**
+         * 缓冲区已满，需立即刷新
+         */
+        FULL
+    }
+}
@@ -0,0 +1,230 @@
+package com.starlwr.bot.core.dispatcher;
+
+import com.starlwr.bot.core.config.StarBotCoreProperties;
+import com.starlwr.bot.core.event.StarBotExternalBaseEvent;
+import com.starlwr.bot.core.record.StarBotEventRecorder;
+import com.starlwr.bot.core.util.RingBuffer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * StarBot 外部事件总线，基于预分配的环形缓冲区，由多个消费线程直接将事件交给事件分发器，不经过 Spring 事件广播
+ * 每个消费线程拥有独立的环形缓冲区，同一直播间的事件总是进入同一个缓冲区，因此同一直播间的事件按发布顺序交给事件分发器
+ * 启用兼容桥接时，消费线程会将事件继续发布至 {@link ApplicationEventPublisher}，使使用 @EventListener 监听外部事件的组件仍可收到事件
+ * 未启用事件总线时，{@link #publish(StarBotExternalBaseEvent)} 等同于直接通过 {@link ApplicationEventPublisher} 发布事件
+ * 启用 Redis Stream 事件传输时，消费线程将事件发布至 Redis Stream 而不是直接交给事件分发器
+ */
+@Slf4j
+@Component
+public class StarBotEventBus {
+    private static final ThreadLocal<Boolean> BRIDGING = ThreadLocal.withInitial(() -> false);
+
+    @Resource
+    private StarBotCoreProperties properties;
+
+    @Resource
+    private ApplicationEventPublisher eventPublisher;
+
+    @Resource
+    private StarBotEventDispatcher dispatcher;
+
+    @Resource
+    private ObjectProvider<StarBotRedisStreamTransport> transportProvider;
+
+    private StarBotRedisStreamTransport transport;
+
+    @Resource
+    private StarBotEventRecorder recorder;
+
+    private final List<Consumer> consumers = new ArrayList<>();
+
+    private volatile boolean running;
+
+    private boolean bridge;
+
+    private final LongAdder publishedCount = new LongAdder();
+
+    private final LongAdder blockedCount = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        StarBotCoreProperties.EventBus config = properties.getEventBus();
+        if (!config.isEnabled()) {
+            return;
+        }
+
+        StarBotRedisStreamTransport available = transportProvider.getIfAvailable();
+        transport = available != null && available.isEnabled() ? available : null;
+
+        bridge = config.isBridge();
+        running = true;
+
+        int count = Math.max(1, config.getConsumers());
+        int capacity = Math.max(1, config.getBufferSize() / count);
+        for (int i = 0; i < count; i++) {
+            Consumer consumer = new Consumer(new RingBuffer<>(capacity));
+            consumer.thread = new Thread(() -> consume(consumer), "event-bus-consumer-" + (i + 1));
+            consumer.thread.setDaemon(true);
+            consumers.add(consumer);
+        }
+        consumers.forEach(consumer -> consumer.thread.start());
+
+        log.info("已启用外部事件总线, 单个消费线程缓冲区容量: {}, 消费线程数量: {}", consumers.get(0).ringBuffer.capacity(), count);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        running = false;
+        for (Consumer consumer : consumers) {
+            LockSupport.unpark(consumer.thread);
+        }
+    }
+
+    /**
+     * 发布外部事件，缓冲区已满时发布线程将等待至缓冲区有空位
+     * @param event 事件
+     */
+    public void publish(StarBotExternalBaseEvent event) {
+        if (consumers.isEmpty()) {
+            eventPublisher.publishEvent(event);
+            return;
+        }
+
+        Consumer consumer = consumers.get(Math.floorMod(31 * event.getPlatform().hashCode() + Long.hashCode(event.getSource().getUid()), consumers.size()));
+        publishedCount.increment();
+        if (!consumer.ringBuffer.offer(event)) {
+            blockedCount.increment();
+            while (!consumer.ringBuffer.offer(event)) {
+                if (!running) {
+                    log.warn("外部事件总线已关闭, 丢弃事件: {}", event);
+                    return;
+                }
+                LockSupport.parkNanos(10_000L);
+            }
+        }
+
+        // 写入缓冲区后再读取等待标记，与消费线程先设置等待标记再检查缓冲区相对应，保证不会遗漏唤醒
+        if (consumer.waiting) {
+            LockSupport.unpark(consumer.thread);
+        }
+    }
+
+    /**
+     * 当前线程是否正在通过兼容桥接发布事件，外部事件监听器据此避免重复分发
+     * @return 是否正在桥接
+     */
+    public static boolean isBridging() {
+        return BRIDGING.get();
+    }
+
+    /**
+     * 消费线程主循环
+     * @param consumer 消费线程
+     */
+    private void consume(Consumer consumer) {
+        int idle = 0;
+        while (running || consumer.ringBuffer.size() > 0) {
+            StarBotExternalBaseEvent event = consumer.ringBuffer.poll();
+            if (event == null) {
+                idle = backoff(consumer, idle);
+                continue;
+            }
+            idle = 0;
+
+            recorder.record(event);
+            try {
+                if (transport != null) {
+                    transport.publish(event);
+                } else {
+                    dispatcher.dispatch(event);
+                }
+            } catch (Exception e) {
+                log.error("外部事件总线分发事件 {} 异常", event.getClass().getName(), e);
+            }
+
+            if (bridge) {
+                BRIDGING.set(true);
+                try {
+                    eventPublisher.publishEvent(event);
+                } catch (Exception e) {
+                    log.error("外部事件总线桥接事件 {} 异常", event.getClass().getName(), e);
+                } finally {
+                    BRIDGING.set(false);
+                }
+            }
+        }
+    }
+
+    /**
+     * 缓冲区为空时的等待策略，先自旋，再让出 CPU，最后挂起直至发布线程唤醒
+     * @param consumer 消费线程
+     * @param idle 连续空闲次数
+     * @return 更新后的连续空闲次数
+     */
+    private int backoff(Consumer consumer, int idle) {
+        if (idle < 100) {
+            Thread.onSpinWait();
+            return idle + 1;
+        }
+        if (idle < 200) {
+            Thread.yield();
+            return idle + 1;
+        }
+
+        consumer.waiting = true;
+        if (running && consumer.ringBuffer.size() == 0) {
+            LockSupport.park(this);
+        }
+        consumer.waiting = false;
+        return 0;
+    }
+
+    /**
+     * 获取通过事件总线发布的事件数量
+     * @return 事件数量
+     */
+    public long getPublishedCount() {
+        return publishedCount.sum();
+    }
+
+    /**
+     * 获取因缓冲区已满而等待的发布次数
+     * @return 等待次数
+     */
+    public long getBlockedCount() {
+        return blockedCount.sum();
+    }
+
+    /**
+     * 获取缓冲区中待消费的事件数量
+     * @return 事件数量，未启用事件总线时返回 0
+     */
+    public int getBacklog() {
+        return consumers.stream().mapToInt(consumer -> consumer.ringBuffer.size()).sum();
+    }
+
+    /**
+     * 消费线程及其独占的环形缓冲区
+     */
+    private static class Consumer {
+        private final RingBuffer<StarBotExternalBaseEvent> ringBuffer;
+
+        private Thread thread;
+
+        private volatile boolean waiting;
+
+        private Consumer(RingBuffer<StarBotExternalBaseEvent> ringBuffer) {
+            this.ringBuffer = ringBuffer;
+        }
+    }
+}
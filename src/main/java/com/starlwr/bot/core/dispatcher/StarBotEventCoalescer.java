@@ -0,0 +1,162 @@
+package com.starlwr.bot.core.dispatcher;
+
+import com.starlwr.bot.core.event.StarBotExternalBaseEvent;
+import com.starlwr.bot.core.event.live.base.StarBotLiveInfoUpdateEvent;
+import com.starlwr.bot.core.util.EventUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+/**
+ * 高频事件合并器，将同一直播间同一类型的事件在时间窗口内合并后批量输出
+ * 信息更新类事件 (例如点赞数更新) 仅保留窗口内最新的一个，其余事件按观众去重，同一观众在窗口内仅保留第一个事件
+ */
+@Slf4j
+public class StarBotEventCoalescer {
+    private final Set<String> eventClasses;
+
+    private final long windowMillis;
+
+    private final BiConsumer<List<StarBotExternalBaseEvent>, StarBotEventCompletion> sink;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("event-coalescer-"));
+
+    private final Map<WindowKey, Window> windows = new ConcurrentHashMap<>();
+
+    private final LongAdder receivedCount = new LongAdder();
+
+    private final LongAdder emittedCount = new LongAdder();
+
+    /**
+     * @param eventClasses 需合并的事件全类名
+     * @param windowMillis 合并时间窗口，单位：毫秒
+     * @param sink 合并后的事件批次输出，同时传入窗口内全部事件 (包括被合并掉的事件) 合并后的完成跟踪
+     */
+    public StarBotEventCoalescer(Collection<String> eventClasses, long windowMillis, BiConsumer<List<StarBotExternalBaseEvent>, StarBotEventCompletion> sink) {
+        this.eventClasses = Set.copyOf(eventClasses);
+        this.windowMillis = windowMillis;
+        this.sink = sink;
+    }
+
+    /**
+     * 判断事件是否需要合并
+     * @param event 事件
+     * @return 是否需要合并
+     */
+    public boolean accepts(StarBotExternalBaseEvent event) {
+        return eventClasses.contains(event.getClass().getName());
+    }
+
+    /**
+     * 将事件加入所属的合并窗口，窗口结束时批量输出
+     * @param event 事件
+     * @param completion 事件的完成跟踪，在合并后的事件批次处理结束时结束
+     */
+    public void offer(StarBotExternalBaseEvent event, StarBotEventCompletion completion) {
+        receivedCount.increment();
+
+        WindowKey key = new WindowKey(event.getPlatform(), event.getSource().getUid(), event.getClass());
+        while (true) {
+            Window window = windows.computeIfAbsent(key, k -> {
+                Window created = new Window();
+                scheduler.schedule(() -> flush(k, created), windowMillis, TimeUnit.MILLISECONDS);
+                return created;
+            });
+
+            synchronized (window) {
+                if (!window.closed) {
+                    window.add(event);
+                    if (completion != null) {
+                        window.completions.add(completion);
+                    }
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * 关闭合并窗口并输出窗口内的事件
+     * @param key 窗口键
+     * @param window 窗口
+     */
+    private void flush(WindowKey key, Window window) {
+        windows.remove(key, window);
+
+        List<StarBotExternalBaseEvent> events;
+        StarBotEventCompletion completion;
+        synchronized (window) {
+            window.closed = true;
+            events = window.events;
+            completion = StarBotEventCompletion.all(window.completions);
+        }
+
+        if (events.isEmpty()) {
+            StarBotEventCompletion.release(completion);
+            return;
+        }
+
+        emittedCount.add(events.size());
+        try {
+            sink.accept(events, completion);
+        } catch (Exception e) {
+            log.error("输出合并后的事件异常", e);
+        }
+    }
+
+    /**
+     * 获取已接收的事件数量
+     * @return 已接收的事件数量
+     */
+    public long getReceivedCount() {
+        return receivedCount.sum();
+    }
+
+    /**
+     * 获取合并后输出的事件数量
+     * @return 输出的事件数量
+     */
+    public long getEmittedCount() {
+        return emittedCount.sum();
+    }
+
+    /**
+     * 关闭合并器，尚未结束的窗口将被立即输出
+     */
+    public void shutdown() {
+        scheduler.shutdownNow();
+        for (Map.Entry<WindowKey, Window> entry : new ArrayList<>(windows.entrySet())) {
+            flush(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private record WindowKey(String platform, Long uid, Class<?> type) {
+    }
+
+    private static class Window {
+        private boolean closed;
+
+        private final List<StarBotExternalBaseEvent> events = new ArrayList<>();
+
+        private final Set<Long> senders = new HashSet<>();
+
+        private final List<StarBotEventCompletion> completions = new ArrayList<>();
+
+        private void add(StarBotExternalBaseEvent event) {
+            if (event instanceof StarBotLiveInfoUpdateEvent) {
+                events.clear();
+                events.add(event);
+                return;
+            }
+
+            Long uid = EventUtil.getSenderUid(event);
+            if (uid == null || senders.add(uid)) {
+                events.add(event);
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.starlwr.bot.core.dispatcher;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 事件处理完成跟踪，记录一次分发尚未结束的处理器调用数量，全部结束后执行完成回调
+ * 事件被过滤、丢弃或在合并、节流中被汇总时同样视为处理结束，未设置完成回调的分发不创建跟踪，各方法接受 null
+ */
+@Slf4j
+public final class StarBotEventCompletion {
+    private final AtomicInteger pending = new AtomicInteger(1);
+
+    private final Runnable callback;
+
+    private StarBotEventCompletion(Runnable callback) {
+        this.callback = callback;
+    }
+
+    /**
+     * 创建完成跟踪，初始持有一次引用，由创建者在交出事件后释放
+     * @param callback 完成回调
+     * @return 完成跟踪，完成回调为 null 时返回 null
+     */
+    static StarBotEventCompletion of(Runnable callback) {
+        return callback != null ? new StarBotEventCompletion(callback) : null;
+    }
+
+    /**
+     * 合并多个事件的完成跟踪，合并后的跟踪结束时释放各事件的跟踪
+     * @param completions 各事件的完成跟踪，调用者的引用转移至合并后的跟踪
+     * @return 合并后的完成跟踪，没有需要跟踪的事件时返回 null
+     */
+    static StarBotEventCompletion all(List<StarBotEventCompletion> completions) {
+        if (completions == null || completions.isEmpty()) {
+            return null;
+        }
+        if (completions.size() == 1) {
+            return completions.get(0);
+        }
+
+        List<StarBotEventCompletion> copy = List.copyOf(completions);
+        return new StarBotEventCompletion(() -> copy.forEach(StarBotEventCompletion::release));
+    }
+
+    /**
+     * 增加一次引用，用于提交一个异步结束的处理器调用
+     * @param completion 完成跟踪
+     */
+    static void retain(StarBotEventCompletion completion) {
+        if (completion != null) {
+            completion.pending.incrementAndGet();
+        }
+    }
+
+    /**
+     * 释放一次引用，最后一次引用释放时执行完成回调
+     * @param completion 完成跟踪
+     */
+    static void release(StarBotEventCompletion completion) {
+        if (completion != null && completion.pending.decrementAndGet() == 0) {
+            try {
+                completion.callback.run();
+            } catch (Exception e) {
+                log.error("执行事件处理完成回调异常", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.starlwr.bot.core.dispatcher;
+
+import com.starlwr.bot.core.event.StarBotExternalBaseEvent;
+import com.starlwr.bot.core.event.live.base.StarBotLiveGiftEvent;
+import com.starlwr.bot.core.event.live.base.StarBotLivePurchaseEvent;
+import com.starlwr.bot.core.event.live.common.DanmuEvent;
+import com.starlwr.bot.core.event.live.common.SuperChatEvent;
+import com.starlwr.bot.core.model.GiftInfo;
+import com.starlwr.bot.core.util.EventUtil;
+import com.starlwr.bot.core.util.ExpiringLongSet;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 事件去重器，同一直播间使用多个冗余连接时，同一事件会被接收多次，根据事件指纹在时间窗口内丢弃重复事件
+ * 事件指纹由 (直播平台, 直播间, 事件类型, 观众 UID, 内容或礼物, 时间分桶) 计算，仅同一时间分桶内的相同事件视为重复，
+ * 因此同一观众在相邻时间分桶内发送的相同弹幕或礼物不会被误判，这要求事件时间戳取自直播平台下发的消息时间，而不是本地接收时间
+ * 事件平台目前不提供消息 ID，指纹无法区分同一分桶内同一观众发送的完全相同的事件
+ * 事件指纹仅保存在当前节点内存中，只能对同一节点上的冗余连接去重，冗余连接分布在不同节点时需将其事件汇聚至同一节点处理
+ */
+public class StarBotEventDeduplicator {
+    private final Set<String> eventClasses;
+
+    private final long bucketMillis;
+
+    private final ExpiringLongSet fingerprints;
+
+    private final ClassValue<Boolean> applicable = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            for (Class<?> clazz = type; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+                if (eventClasses.contains(clazz.getName())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    };
+
+    private final LongAdder checkedCount = new LongAdder();
+
+    private final LongAdder duplicateCount = new LongAdder();
+
+    /**
+     * @param eventClasses 需去重的事件全类名，可配置为事件基类
+     * @param bucketMillis 时间分桶大小，单位：毫秒
+     * @param windowMillis 事件指纹保留时间，单位：毫秒
+     * @param capacity 每个保留窗口内最多记录的事件指纹数量
+     */
+    public StarBotEventDeduplicator(Set<String> eventClasses, long bucketMillis, long windowMillis, int capacity) {
+        this.eventClasses = Set.copyOf(eventClasses);
+        this.bucketMillis = Math.max(1, bucketMillis);
+        this.fingerprints = new ExpiringLongSet(2, capacity, windowMillis);
+    }
+
+    /**
+     * 判断事件是否为重复事件，非重复事件的指纹将被记录
+     * @param event 事件
+     * @return 是否为重复事件，不需去重的事件类型总是返回 false
+     */
+    public boolean isDuplicate(StarBotExternalBaseEvent event) {
+        if (!applicable.get(event.getClass())) {
+            return false;
+        }
+
+        checkedCount.increment();
+        long base = fingerprint(event);
+        long bucket = event.getTimestamp() / bucketMillis;
+
+        boolean duplicate = !fingerprints.add(mix(base ^ bucket), System.currentTimeMillis());
+
+        if (duplicate) {
+            duplicateCount.increment();
+        }
+        return duplicate;
+    }
+
+    /**
+     * 计算不含时间分桶的事件指纹
+     * @param event 事件
+     * @return 事件指纹
+     */
+    private static long fingerprint(StarBotExternalBaseEvent event) {
+        long hash = mix(event.getPlatform().hashCode());
+        hash = mix(hash ^ Objects.hashCode(event.getSource().getUid()));
+        hash = mix(hash ^ event.getClass().getName().hashCode());
+        hash = mix(hash ^ Objects.hashCode(EventUtil.getSenderUid(event)));
+
+        if (event instanceof DanmuEvent danmuEvent) {
+            hash = mix(hash ^ Objects.hashCode(danmuEvent.getContent()));
+        } else if (event instanceof SuperChatEvent superChatEvent) {
+            hash = mix(hash ^ Objects.hashCode(superChatEvent.getContent()));
+        }
+
+        if (event instanceof StarBotLiveGiftEvent giftEvent && giftEvent.getGiftInfo() != null) {
+            GiftInfo gift = giftEvent.getGiftInfo();
+            hash = mix(hash ^ Objects.hashCode(gift.getId()));
+            hash = mix(hash ^ Objects.hashCode(gift.getCount()));
+        }
+
+        if (event instanceof StarBotLivePurchaseEvent purchaseEvent) {
+            hash = mix(hash ^ Objects.hashCode(purchaseEvent.getValue()));
+        }
+
+        return hash;
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    /**
+     * 获取参与去重检查的事件数量
+     * @return 检查的事件数量
+     */
+    public long getCheckedCount() {
+        return checkedCount.sum();
+    }
+
+    /**
+     * 获取被丢弃的重复事件数量
+     * @return 重复事件数量
+     */
+    public long getDuplicateCount() {
+        return duplicateCount.sum();
+    }
+
+    /**
+     * 获取去重命中率
+     * @return 重复事件数量占检查事件数量的比例，尚未检查任何事件时返回 0
+     */
+    public double getHitRate() {
+        long checked = checkedCount.sum();
+        return checked == 0 ? 0 : (double) duplicateCount.sum() / checked;
+    }
+}
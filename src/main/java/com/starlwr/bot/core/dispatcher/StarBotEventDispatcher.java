@@ -0,0 +1,648 @@
+package com.starlwr.bot.core.dispatcher;
+
+import com.starlwr.bot.core.config.StarBotCoreProperties;
+import com.starlwr.bot.core.enums.ThreadMode;
+import com.starlwr.bot.core.event.StarBotExternalBaseEvent;
+import com.starlwr.bot.core.event.datasource.change.StarBotDataSourceRemoveEvent;
+import com.starlwr.bot.core.event.live.common.DanmuEvent;
+import com.starlwr.bot.core.handler.StarBotAsyncEventHandler;
+import com.starlwr.bot.core.handler.StarBotBatchEventHandler;
+import com.starlwr.bot.core.handler.StarBotEventHandler;
+import com.starlwr.bot.core.model.PushTarget;
+import com.starlwr.bot.core.util.PriorityLaneExecutor;
+import com.starlwr.bot.core.util.StripedExecutor;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * StarBot 事件分发器，将外部事件提交至事件处理线程，并调用事件订阅的处理器
+ */
+@Slf4j
+@Component
+public class StarBotEventDispatcher {
+    @Resource
+    private StarBotCoreProperties properties;
+
+    @Resource
+    private StarBotEventRouter router;
+
+    @Resource(name = "eventHandlerTaskExecutor")
+    private AsyncTaskExecutor executor;
+
+    @Resource
+    private ObjectProvider<StripedExecutor> stripedExecutorProvider;
+
+    private StripedExecutor stripedExecutor;
+
+    private PriorityLaneExecutor laneExecutor;
+
+    private ThreadPoolExecutor laneWorkerPool;
+
+    private boolean laneEnabled;
+
+    private StarBotEventCoalescer coalescer;
+
+    private StarBotAsyncHandlerTracker asyncHandlerTracker;
+
+    private StarBotEventDeduplicator deduplicator;
+
+    private StarBotEventReorderer reorderer;
+
+    private final StarBotEventThrottle throttle = new StarBotEventThrottle();
+
+    private final Map<StarBotEventHandler, StarBotHandlerBulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService bulkheadTimeoutScheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("bulkhead-timeout-"));
+
+    private final ScheduledExecutorService batchScheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("event-batch-"));
+
+    private final AtomicLongArray droppedCounts = new AtomicLongArray(StarBotEventLane.values().length);
+
+    private final LongAdder filteredCount = new LongAdder();
+
+    private final LongAdder throttledCount = new LongAdder();
+
+    private final LongAdder bulkheadRejectedCount = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        if (properties.getEventHandlerThread().getMode() == ThreadMode.STRIPED) {
+            stripedExecutor = stripedExecutorProvider.getIfAvailable();
+        }
+
+        StarBotCoreProperties.EventLane config = properties.getEventLane();
+        laneEnabled = config.isEnabled();
+        if (laneEnabled && stripedExecutor == null) {
+            // 平台线程池使用 CallerRunsPolicy, 资源耗尽时通道的排空循环将在发布事件的线程中运行, 因此使用独立的工作线程池
+            Executor laneDelegate = executor;
+            if (executor instanceof ThreadPoolTaskExecutor) {
+                laneWorkerPool = PriorityLaneExecutor.newWorkerPool(config.getMaxWorkers(), "lane-handler-thread-");
+                laneDelegate = laneWorkerPool;
+            }
+            // 高优先级通道不限容量, 负载过高时仅丢弃普通与低优先级事件
+            laneExecutor = new PriorityLaneExecutor(laneDelegate, config.getMaxWorkers(), Integer.MAX_VALUE, config.getNormalCapacity(), config.getLowCapacity());
+        }
+
+        StarBotCoreProperties.EventHandlerThread threadConfig = properties.getEventHandlerThread();
+        asyncHandlerTracker = new StarBotAsyncHandlerTracker(threadConfig.getMaxAsyncInFlight(), threadConfig.getAsyncTimeoutMillis());
+
+        StarBotCoreProperties.EventDedup dedupConfig = properties.getEventDedup();
+        if (dedupConfig.isEnabled()) {
+            deduplicator = new StarBotEventDeduplicator(dedupConfig.getEvents(), dedupConfig.getBucketMillis(), dedupConfig.getWindowMillis(), dedupConfig.getCapacity());
+        }
+
+        StarBotCoreProperties.EventReorder reorderConfig = properties.getEventReorder();
+        if (reorderConfig.isEnabled()) {
+            reorderer = new StarBotEventReorderer(reorderConfig.getEvents(), reorderConfig.getLatenessMillis(), reorderConfig.getMaxBufferedPerRoom(), reorderConfig.isDropLate(), this::dispatchBatch);
+        }
+
+        StarBotCoreProperties.EventCoalesce coalesceConfig = properties.getEventCoalesce();
+        if (coalesceConfig.isEnabled()) {
+            coalescer = new StarBotEventCoalescer(coalesceConfig.getEvents(), coalesceConfig.getWindowMillis(), this::dispatchBatch);
+        }
+
+        // 定期移除已结束且没有累积事件的节流窗口
+        batchScheduler.scheduleWithFixedDelay(throttle::evictIdle, 1, 1, TimeUnit.MINUTES);
+    }
+
+    @EventListener
+    public void onPushUserRemove(StarBotDataSourceRemoveEvent event) {
+        if (reorderer != null) {
+            reorderer.remove(event.getUser().getPlatform(), event.getUser().getUid());
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (reorderer != null) {
+            reorderer.shutdown();
+        }
+        if (coalescer != null) {
+            coalescer.shutdown();
+        }
+        batchScheduler.shutdown();
+        if (laneWorkerPool != null) {
+            laneWorkerPool.shutdown();
+        }
+        bulkheads.values().forEach(StarBotHandlerBulkhead::shutdown);
+        bulkheadTimeoutScheduler.shutdown();
+    }
+
+    /**
+     * 分发事件，分条模式下同一直播间的事件按分发顺序处理，启用优先级通道时负载过高将丢弃低优先级事件，启用事件合并时高频事件将在时间窗口结束后批量分发
+     * 没有任何订阅的事件在当前线程直接过滤，不会提交至事件处理线程，启用事件去重时冗余连接接收到的重复事件将被丢弃
+     * 启用事件时间重排序时指定事件将在缓冲后按事件时间顺序批量分发，重排序后的事件不再参与高频事件合并
+     * @param event 事件
+     */
+    public void dispatch(StarBotExternalBaseEvent event) {
+        dispatch(event, null);
+    }
+
+    /**
+     * 分发事件，并在事件的全部事件处理器调用结束后执行完成回调
+     * 事件被去重、过滤或丢弃时立即视为结束，被缓冲 (重排序、合并、节流、批量) 的事件在所在批次处理结束后视为结束，舱壁中超时的调用与异步处理器超时同样视为结束
+     * @param event 事件
+     * @param onComplete 完成回调，可能在任意线程中执行，为 null 时不跟踪事件处理
+     */
+    public void dispatch(StarBotExternalBaseEvent event, Runnable onComplete) {
+        StarBotEventCompletion completion = StarBotEventCompletion.of(onComplete);
+
+        if (deduplicator != null && deduplicator.isDuplicate(event)) {
+            StarBotEventCompletion.release(completion);
+            return;
+        }
+
+        StarBotEventRouter.UserRoute route = router.resolve(event.getPlatform(), event.getSource().getUid());
+        List<StarBotEventSubscription> subscriptions = route != null ? route.get(event.getClass()) : List.of();
+        if (subscriptions.isEmpty()) {
+            filteredCount.increment();
+            StarBotEventCompletion.release(completion);
+            return;
+        }
+
+        if (reorderer != null && reorderer.accepts(event)) {
+            reorderer.offer(event, completion);
+            return;
+        }
+
+        if (coalescer != null && coalescer.accepts(event)) {
+            coalescer.offer(event, completion);
+            return;
+        }
+
+        submit(event, () -> handle(event, route, subscriptions, completion), completion);
+    }
+
+    /**
+     * 分发同一直播间的一批事件，整批事件在同一个任务中依次处理，并使用批次中最高的优先级通道，避免批次中的高优先级事件随整批被丢弃
+     * @param events 事件列表
+     * @param completion 整批事件的完成跟踪
+     */
+    private void dispatchBatch(List<StarBotExternalBaseEvent> events, StarBotEventCompletion completion) {
+        StarBotEventLane lane = StarBotEventLane.LOW;
+        for (StarBotExternalBaseEvent event : events) {
+            StarBotEventLane current = StarBotEventLane.of(event);
+            if (current.ordinal() < lane.ordinal()) {
+                lane = current;
+            }
+        }
+
+        submit(events.get(0), lane, () -> {
+            for (StarBotExternalBaseEvent event : events) {
+                handle(event, completion);
+            }
+        }, completion);
+    }
+
+    /**
+     * 将事件处理任务提交至事件处理线程，任务结束或被丢弃时释放完成跟踪的一次引用
+     * @param event 事件，用于确定分条与优先级通道
+     * @param task 事件处理任务
+     * @param completion 完成跟踪
+     */
+    private void submit(StarBotExternalBaseEvent event, Runnable task, StarBotEventCompletion completion) {
+        submit(event, StarBotEventLane.of(event), task, completion);
+    }
+
+    /**
+     * 将事件处理任务提交至指定优先级通道，任务结束或被丢弃时释放完成跟踪的一次引用
+     * @param event 事件，用于确定分条
+     * @param lane 优先级通道
+     * @param task 事件处理任务
+     * @param completion 完成跟踪
+     */
+    private void submit(StarBotExternalBaseEvent event, StarBotEventLane lane, Runnable task, StarBotEventCompletion completion) {
+        Runnable tracked = completion == null ? task : () -> {
+            try {
+                task.run();
+            } finally {
+                StarBotEventCompletion.release(completion);
+            }
+        };
+
+        boolean accepted;
+        try {
+            if (stripedExecutor != null) {
+                int key = roomKey(event);
+                accepted = !(laneEnabled && isStripeOverloaded(key, lane)) && stripedExecutor.execute(key, tracked);
+            } else if (laneExecutor != null) {
+                accepted = laneExecutor.execute(lane.ordinal(), tracked);
+            } else {
+                executor.execute(tracked);
+                accepted = true;
+            }
+        } catch (RejectedExecutionException e) {
+            log.debug("事件处理线程池已关闭, 丢弃事件 {}", event.getClass().getSimpleName());
+            StarBotEventCompletion.release(completion);
+            return;
+        }
+
+        if (!accepted) {
+            drop(lane, event);
+            StarBotEventCompletion.release(completion);
+        }
+    }
+
+    /**
+     * 判断分条中排队的任务数量是否已达到优先级通道的容量，高优先级事件永不视为过载
+     * @param key 分条键
+     * @param lane 优先级通道
+     * @return 是否过载
+     */
+    private boolean isStripeOverloaded(int key, StarBotEventLane lane) {
+        int capacity = switch (lane) {
+            case HIGH -> Integer.MAX_VALUE;
+            case NORMAL -> properties.getEventLane().getNormalCapacity();
+            case LOW -> properties.getEventLane().getLowCapacity();
+        };
+        return stripedExecutor.getQueueSize(stripedExecutor.stripeOf(key)) >= capacity;
+    }
+
+    /**
+     * 丢弃事件并记录丢弃数量
+     * @param lane 优先级通道
+     * @param event 事件
+     */
+    private void drop(StarBotEventLane lane, StarBotExternalBaseEvent event) {
+        long count = droppedCounts.incrementAndGet(lane.ordinal());
+        if (count % 1000 == 1) {
+            log.warn("事件处理负载过高, {}优先级通道已累计丢弃 {} 个事件, 最近丢弃: {}", lane.getStr(), count, event.getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * 调用事件订阅的处理器处理事件
+     * @param event 事件
+     * @param completion 完成跟踪
+     */
+    private void handle(StarBotExternalBaseEvent event, StarBotEventCompletion completion) {
+        StarBotEventRouter.UserRoute route = router.resolve(event.getPlatform(), event.getSource().getUid());
+        if (route != null) {
+            handle(event, route, route.get(event.getClass()), completion);
+        }
+    }
+
+    /**
+     * 调用指定事件订阅的处理器处理事件，弹幕未命中关键词的订阅与未通过事件预过滤器的订阅将被跳过，超出节流上限的事件将被累积
+     * 关键词匹配使用与订阅列表同一次编译的路由，路由在分发后被替换时仍能正确匹配
+     * @param event 事件
+     * @param route 获取订阅列表时的路由
+     * @param subscriptions 事件订阅列表
+     * @param completion 完成跟踪，异步结束的调用与被缓冲的事件各增加一次引用
+     */
+    private void handle(StarBotExternalBaseEvent event, StarBotEventRouter.UserRoute route, List<StarBotEventSubscription> subscriptions, StarBotEventCompletion completion) {
+        Set<StarBotEventSubscription> keywordHits = null;
+        for (StarBotEventSubscription subscription : subscriptions) {
+            if (subscription.getKeywords() != null && event instanceof DanmuEvent danmuEvent) {
+                if (keywordHits == null) {
+                    keywordHits = route.matchKeywords(danmuEvent.getContentText());
+                }
+                if (!keywordHits.contains(subscription)) {
+                    continue;
+                }
+            }
+
+            if (!subscription.accepts(event)) {
+                continue;
+            }
+
+            if (subscription.getThrottleLimit() != null && throttle(subscription, event, completion)) {
+                continue;
+            }
+
+            if (subscription.isBatched()) {
+                buffer(subscription, event, completion);
+                continue;
+            }
+
+            invoke(subscription, event, completion);
+        }
+    }
+
+    /**
+     * 调用事件订阅的处理器处理单个事件
+     * @param subscription 事件订阅
+     * @param event 事件
+     * @param completion 完成跟踪
+     */
+    private void invoke(StarBotEventSubscription subscription, StarBotExternalBaseEvent event, StarBotEventCompletion completion) {
+        if (subscription.getHandler() instanceof StarBotAsyncEventHandler asyncHandler) {
+            track(asyncHandlerTracker.invoke(asyncHandler, event, subscription.getMessage()), completion);
+            return;
+        }
+
+        isolate(subscription.getHandler(), event, () -> {
+            try {
+                subscription.getHandler().handle(event, subscription.getMessage());
+            } catch (Exception e) {
+                log.error("事件处理器 {} 处理事件 {} 异常", subscription.getHandler().getClass().getName(), event.getClass().getName(), e);
+            }
+        }, completion);
+    }
+
+    /**
+     * 调用事件订阅的处理器汇总处理节流窗口内被累积的事件
+     * @param subscription 事件订阅
+     * @param events 被累积的事件
+     * @param completion 完成跟踪
+     */
+    private void invokeThrottled(StarBotEventSubscription subscription, List<StarBotExternalBaseEvent> events, StarBotEventCompletion completion) {
+        StarBotExternalBaseEvent latest = events.get(events.size() - 1);
+        if (subscription.getHandler() instanceof StarBotAsyncEventHandler asyncHandler) {
+            track(asyncHandlerTracker.execute(asyncHandler, latest, () -> asyncHandler.handleThrottledAsync(events, subscription.getMessage())), completion);
+            return;
+        }
+
+        isolate(subscription.getHandler(), latest, () -> {
+            try {
+                subscription.getHandler().handleThrottled(events, subscription.getMessage());
+            } catch (Exception e) {
+                log.error("事件处理器 {} 汇总处理 {} 个事件异常", subscription.getHandler().getClass().getName(), events.size(), e);
+            }
+        }, completion);
+    }
+
+    /**
+     * 在异步处理结束时释放完成跟踪的一次引用
+     * @param done 异步处理结束时完成的 Future
+     * @param completion 完成跟踪
+     */
+    private static void track(CompletableFuture<Void> done, StarBotEventCompletion completion) {
+        if (completion != null) {
+            StarBotEventCompletion.retain(completion);
+            done.whenComplete((result, e) -> StarBotEventCompletion.release(completion));
+        }
+    }
+
+    /**
+     * 将事件提交至节流器，同一推送目标同一事件类型超出窗口上限的事件被累积，并在窗口中第一个事件被累积时安排窗口结束时的汇总处理
+     * @param subscription 事件订阅
+     * @param event 事件
+     * @param completion 完成跟踪
+     * @return 事件是否已被节流
+     */
+    private boolean throttle(StarBotEventSubscription subscription, StarBotExternalBaseEvent event, StarBotEventCompletion completion) {
+        switch (throttle.offer(subscription, event, completion)) {
+            case PASSED -> {
+                return false;
+            }
+            case FIRST_THROTTLED -> {
+                PushTarget target = subscription.getMessage().getTarget();
+                Class<?> eventClass = event.getClass();
+                long delay = throttle.getFlushDelayMillis(target, eventClass);
+                batchScheduler.schedule(() -> flushThrottled(event, target, eventClass), delay, TimeUnit.MILLISECONDS);
+            }
+            case THROTTLED -> {
+            }
+        }
+        throttledCount.increment();
+        return true;
+    }
+
+    /**
+     * 节流窗口结束时在调度线程中取出累积的事件后再提交汇总处理，提交被拒绝时随之释放累积事件的完成跟踪，保证窗口总能被重置并安排下一次汇总处理
+     * @param event 窗口中第一个被累积的事件，用于确定分条与优先级通道
+     * @param target 推送目标
+     * @param eventClass 事件类型
+     */
+    private void flushThrottled(StarBotExternalBaseEvent event, PushTarget target, Class<?> eventClass) {
+        StarBotEventThrottle.Drained drained = throttle.drain(target, eventClass);
+        if (drained.pending().isEmpty()) {
+            return;
+        }
+
+        submit(event, () -> handleThrottled(drained), drained.completion());
+    }
+
+    /**
+     * 汇总处理节流窗口内累积的事件，每个事件订阅汇总处理一次，批量事件处理器处理全部事件，其余事件处理器通过 handleThrottled 接收全部被累积的事件
+     * @param drained 取出的累积事件
+     */
+    private void handleThrottled(StarBotEventThrottle.Drained drained) {
+        drained.pending().forEach((subscription, events) -> {
+            if (events.isEmpty()) {
+                return;
+            }
+
+            if (subscription.isBatched()) {
+                handleBatch(subscription, events, drained.completion());
+            } else {
+                invokeThrottled(subscription, events, drained.completion());
+            }
+        });
+    }
+
+    /**
+     * 执行事件处理器调用，启用舱壁时提交至事件处理器独立的舱壁中执行，否则在当前线程执行
+     * 舱壁中同一直播间的调用按提交顺序执行，舱壁已满时丢弃本次调用并记录
+     * @param handler 事件处理器
+     * @param event 事件，用于确定舱壁通道
+     * @param invocation 事件处理器调用
+     * @param completion 完成跟踪，提交至舱壁的调用在执行结束或超时后释放
+     */
+    private void isolate(StarBotEventHandler handler, StarBotExternalBaseEvent event, Runnable invocation, StarBotEventCompletion completion) {
+        if (!properties.getBulkhead().isEnabled()) {
+            invocation.run();
+            return;
+        }
+
+        StarBotHandlerBulkhead bulkhead = bulkheads.computeIfAbsent(handler, h -> {
+            String name = h.getClass().getName();
+            StarBotCoreProperties.BulkheadOptions options = properties.getBulkhead().getOptions(name);
+            return new StarBotHandlerBulkhead(name, options.getMaxConcurrency(), options.getQueueCapacity(), options.getTimeoutMillis(), bulkheadTimeoutScheduler);
+        });
+        StarBotEventCompletion.retain(completion);
+        Runnable onDone = completion != null ? () -> StarBotEventCompletion.release(completion) : null;
+        if (!bulkhead.execute(roomKey(event), invocation, onDone)) {
+            StarBotEventCompletion.release(completion);
+            bulkheadRejectedCount.increment();
+            long count = bulkhead.getRejectedCount();
+            if (count % 100 == 1) {
+                log.warn("事件处理器 {} 舱壁已满, 丢弃事件 {}, 该舱壁已累计拒绝 {} 次执行", bulkhead.getName(), event.getClass().getSimpleName(), count);
+            }
+        }
+    }
+
+    /**
+     * 将事件加入订阅中该事件类型的批量缓冲区，缓冲区已满时在当前线程立即处理，缓冲区中第一个事件到达时安排延时处理
+     * @param subscription 事件订阅
+     * @param event 事件
+     * @param completion 完成跟踪
+     */
+    private void buffer(StarBotEventSubscription subscription, StarBotExternalBaseEvent event, StarBotEventCompletion completion) {
+        StarBotEventBatch batch = subscription.getBatch(event.getClass());
+        switch (batch.add(event, completion)) {
+            case FULL -> handleBatch(subscription, batch.drain());
+            case FIRST -> {
+                long generation = batch.getGeneration();
+                long delay = ((StarBotBatchEventHandler) subscription.getHandler()).getMaxBatchDelayMillis();
+                batchScheduler.schedule(() -> flushBatch(subscription, event, batch, generation), delay, TimeUnit.MILLISECONDS);
+            }
+            case ADDED -> {
+            }
+        }
+    }
+
+    /**
+     * 延时刷新批量缓冲区，在调度线程中取出批次后再提交处理，提交被拒绝时随之释放批次的完成跟踪，保证缓冲区总能被重置并安排下一次刷新
+     * @param subscription 事件订阅
+     * @param event 批次中的第一个事件，用于确定分条与优先级通道
+     * @param batch 批量缓冲区
+     * @param generation 安排刷新时的批次代数
+     */
+    private void flushBatch(StarBotEventSubscription subscription, StarBotExternalBaseEvent event, StarBotEventBatch batch, long generation) {
+        StarBotEventBatch.Drained drained = batch.drain(generation);
+        if (drained.events().isEmpty()) {
+            return;
+        }
+
+        submit(event, () -> handleBatch(subscription, drained.events(), drained.completion()), drained.completion());
+    }
+
+    /**
+     * 调用批量事件处理器处理取出的批次，并释放批次的完成跟踪
+     * @param subscription 事件订阅
+     * @param drained 取出的批次
+     */
+    private void handleBatch(StarBotEventSubscription subscription, StarBotEventBatch.Drained drained) {
+        try {
+            handleBatch(subscription, drained.events(), drained.completion());
+        } finally {
+            StarBotEventCompletion.release(drained.completion());
+        }
+    }
+
+    /**
+     * 调用批量事件处理器处理一批事件
+     * @param subscription 事件订阅
+     * @param events 事件列表
+     * @param completion 完成跟踪
+     */
+    private void handleBatch(StarBotEventSubscription subscription, List<StarBotExternalBaseEvent> events, StarBotEventCompletion completion) {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        StarBotBatchEventHandler handler = (StarBotBatchEventHandler) subscription.getHandler();
+        isolate(handler, events.get(0), () -> {
+            try {
+                handler.handleBatch(events, subscription.getMessage());
+            } catch (Exception e) {
+                log.error("批量事件处理器 {} 处理 {} 个事件异常", handler.getClass().getName(), events.size(), e);
+            }
+        }, completion);
+    }
+
+    /**
+     * 计算事件所属直播间的分条键
+     * @param event 事件
+     * @return 分条键
+     */
+    private static int roomKey(StarBotExternalBaseEvent event) {
+        return 31 * event.getPlatform().hashCode() + Long.hashCode(event.getSource().getUid());
+    }
+
+    /**
+     * 获取因没有任何订阅而被直接过滤的事件数量
+     * @return 过滤的事件数量
+     */
+    public long getFilteredCount() {
+        return filteredCount.sum();
+    }
+
+    /**
+     * 获取因节流而未逐个处理的事件数量
+     * @return 节流的事件数量
+     */
+    public long getThrottledCount() {
+        return throttledCount.sum();
+    }
+
+    /**
+     * 获取因事件处理器舱壁已满而被丢弃的调用数量
+     * @return 丢弃的调用数量
+     */
+    public long getBulkheadRejectedCount() {
+        return bulkheadRejectedCount.sum();
+    }
+
+    /**
+     * 获取指定优先级通道已丢弃的事件数量
+     * @param lane 优先级通道
+     * @return 丢弃的事件数量
+     */
+    public long getDroppedCount(StarBotEventLane lane) {
+        return droppedCounts.get(lane.ordinal());
+    }
+
+    /**
+     * 获取异步事件处理器跟踪器
+     * @return 异步事件处理器跟踪器
+     */
+    public StarBotAsyncHandlerTracker getAsyncHandlerTracker() {
+        return asyncHandlerTracker;
+    }
+
+    /**
+     * 获取已创建的事件处理器舱壁
+     * @return 事件处理器舱壁列表
+     */
+    public List<StarBotHandlerBulkhead> getBulkheads() {
+        return List.copyOf(bulkheads.values());
+    }
+
+    /**
+     * 获取事件去重器
+     * @return 事件去重器，未启用事件去重时返回空
+     */
+    public Optional<StarBotEventDeduplicator> getDeduplicator() {
+        return Optional.ofNullable(deduplicator);
+    }
+
+    /**
+     * 获取事件时间重排序器
+     * @return 事件时间重排序器，未启用事件时间重排序时返回空
+     */
+    public Optional<StarBotEventReorderer> getReorderer() {
+        return Optional.ofNullable(reorderer);
+    }
+
+    /**
+     * 获取高频事件合并器
+     * @return 高频事件合并器，未启用事件合并时返回空
+     */
+    public Optional<StarBotEventCoalescer> getCoalescer() {
+        return Optional.ofNullable(coalescer);
+    }
+
+    /**
+     * 获取分条执行器的运行指标
+     * @return 各分条的运行指标，未启用分条模式时返回空列表
+     */
+    public List<StripedExecutor.StripeMetrics> getStripeMetrics() {
+        return stripedExecutor != null ? stripedExecutor.getMetrics() : List.of();
+    }
+}
@@ -0,0 +1,291 @@
+package com.starlwr.bot.core.dispatcher;
+
+import com.alibaba.fastjson2.JSONArray;
+import com.alibaba.fastjson2.JSONObject;
+import com.starlwr.bot.core.event.StarBotExternalBaseEvent;
+import com.starlwr.bot.core.event.live.base.StarBotLivePurchaseEvent;
+import com.starlwr.bot.core.util.EventUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.*;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * 事件预过滤器，将推送参数中的 filter 配置编译为断言，由事件分发器在调用事件处理器前执行
+ * <p>
+ * 配置示例:
+ * <pre>
+ * "filter": {
+ *     "min_value": 10,
+ *     "uids": [123, 456],
+ *     "exclude_uids": [789],
+ *     "conditions": [{"field": "sender.uname", "op": "ne", "value": "test"}]
+ * }
+ * </pre>
+ * 支持的比较运算: eq、ne、gt、ge、lt、le、in、contains
+ */
+@Slf4j
+public final class StarBotEventFilter {
+    /**
+     * 推送参数中过滤配置的键名
+     */
+    public static final String PARAM_KEY = "filter";
+
+    private StarBotEventFilter() {
+    }
+
+    /**
+     * 编译过滤配置
+     * @param filter 过滤配置
+     * @return 事件断言，过滤配置为空时返回 null
+     * @throws IllegalArgumentException 过滤配置格式错误
+     */
+    public static Predicate<StarBotExternalBaseEvent> compile(JSONObject filter) {
+        if (filter == null || filter.isEmpty()) {
+            return null;
+        }
+
+        List<Predicate<StarBotExternalBaseEvent>> predicates = new ArrayList<>();
+        for (String key : filter.keySet()) {
+            switch (key) {
+                case "min_value" -> {
+                    double minValue = filter.getDoubleValue(key);
+                    predicates.add(event -> !(event instanceof StarBotLivePurchaseEvent purchaseEvent) || (purchaseEvent.getValue() != null && purchaseEvent.getValue() >= minValue));
+                }
+                case "uids" -> {
+                    Set<Long> uids = toUidSet(filter.getJSONArray(key));
+                    predicates.add(event -> {
+                        Long uid = EventUtil.getSenderUid(event);
+                        return uid != null && uids.contains(uid);
+                    });
+                }
+                case "exclude_uids" -> {
+                    Set<Long> uids = toUidSet(filter.getJSONArray(key));
+                    predicates.add(event -> {
+                        Long uid = EventUtil.getSenderUid(event);
+                        return uid == null || !uids.contains(uid);
+                    });
+                }
+                case "conditions" -> {
+                    JSONArray conditions = filter.getJSONArray(key);
+                    for (int i = 0; i < conditions.size(); i++) {
+                        predicates.add(compileCondition(conditions.getJSONObject(i)));
+                    }
+                }
+                default -> throw new IllegalArgumentException("不支持的过滤配置项: " + key);
+            }
+        }
+
+        Predicate<StarBotExternalBaseEvent> combined = predicates.get(0);
+        for (int i = 1; i < predicates.size(); i++) {
+            combined = combined.and(predicates.get(i));
+        }
+        return combined;
+    }
+
+    private static Set<Long> toUidSet(JSONArray array) {
+        if (array == null) {
+            throw new IllegalArgumentException("UID 列表格式错误");
+        }
+        Set<Long> uids = new HashSet<>();
+        for (int i = 0; i < array.size(); i++) {
+            uids.add(array.getLong(i));
+        }
+        return uids;
+    }
+
+    /**
+     * 编译事件字段条件
+     * @param condition 条件配置，包含 field、op 与 value
+     * @return 事件断言，字段不存在或为 null 时视为不满足
+     */
+    private static Predicate<StarBotExternalBaseEvent> compileCondition(JSONObject condition) {
+        String field = condition.getString("field");
+        String op = condition.getString("op");
+        Object expected = condition.get("value");
+        if (field == null || op == null) {
+            throw new IllegalArgumentException("过滤条件缺少 field 或 op: " + condition);
+        }
+
+        FieldAccessor accessor = new FieldAccessor(field.split("\\."));
+        Predicate<Object> test = switch (op) {
+            case "eq" -> actual -> equalsValue(actual, expected);
+            case "ne" -> actual -> !equalsValue(actual, expected);
+            case "gt" -> actual -> compare(actual, expected) > 0;
+            case "ge" -> actual -> compare(actual, expected) >= 0;
+            case "lt" -> actual -> compare(actual, expected) < 0;
+            case "le" -> actual -> compare(actual, expected) <= 0;
+            case "in" -> {
+                if (!(expected instanceof Collection<?> values)) {
+                    throw new IllegalArgumentException("in 条件的 value 必须为数组: " + condition);
+                }
+                yield actual -> values.stream().anyMatch(value -> equalsValue(actual, value));
+            }
+            case "contains" -> actual -> expected != null && actual.toString().contains(expected.toString());
+            default -> throw new IllegalArgumentException("不支持的比较运算: " + op);
+        };
+
+        return event -> {
+            Object actual = accessor.get(event);
+            return actual != null && test.test(actual);
+        };
+    }
+
+    private static boolean equalsValue(Object actual, Object expected) {
+        if (actual instanceof Number a && expected instanceof Number b) {
+            return a.doubleValue() == b.doubleValue();
+        }
+        if (actual instanceof Enum<?> e && expected instanceof String s) {
+            return e.name().equals(s);
+        }
+        return Objects.equals(actual, expected);
+    }
+
+    private static int compare(Object actual, Object expected) {
+        if (actual instanceof Number a && expected instanceof Number b) {
+            return Double.compare(a.doubleValue(), b.doubleValue());
+        }
+        if (expected != null) {
+            return actual.toString().compareTo(expected.toString());
+        }
+        return 0;
+    }
+
+    /**
+     * 事件字段访问器，按实际对象类型解析每一级字段的 Getter 方法并编译为函数缓存，执行过程不经过反射调用
+     */
+    private static class FieldAccessor {
+        private final GetterCache[] getters;
+
+        private FieldAccessor(String[] path) {
+            this.getters = Arrays.stream(path).map(GetterCache::new).toArray(GetterCache[]::new);
+        }
+
+        private Object get(Object target) {
+            Object current = target;
+            for (GetterCache cache : getters) {
+                if (current == null) {
+                    return null;
+                }
+                Function<Object, Object> getter = cache.get(current.getClass());
+                if (getter == null) {
+                    return null;
+                }
+                current = getter.apply(current);
+            }
+            return current;
+        }
+    }
+
+    /**
+     * 单个字段的 Getter 函数缓存，每个类型仅编译一次，字段不存在时缓存 null
+     */
+    private static class GetterCache extends ClassValue<Function<Object, Object>> {
+        private final String name;
+
+        private GetterCache(String name) {
+            this.name = name;
+        }
+
+        @Override
+        protected Function<Object, Object> computeValue(Class<?> type) {
+            String suffix = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+            for (String prefix : new String[]{"get", "is"}) {
+                Method method;
+                try {
+                    method = type.getMethod(prefix + suffix);
+                } catch (NoSuchMethodException ignored) {
+                    continue;
+                }
+
+                Function<Object, Object> getter = compile(method);
+                if (getter == null) {
+                    getter = reflect(type, method);
+                }
+                if (getter == null) {
+                    log.warn("过滤条件字段 {} 的 Getter 方法 {} 无法访问, 该字段将视为 null", name, method);
+                }
+                return getter;
+            }
+            return null;
+        }
+
+        /**
+         * 将 Getter 方法编译为函数，优先通过 LambdaMetafactory 生成直接调用的实现，失败时回退至方法句柄
+         * @param method Getter 方法
+         * @return Getter 函数，无法获取声明类的私有查找对象 (如未向本模块开放的 JDK 类型) 时返回 null
+         */
+        @SuppressWarnings("unchecked")
+        private static Function<Object, Object> compile(Method method) {
+            Class<?> owner = method.getDeclaringClass();
+            MethodHandle handle;
+            MethodHandles.Lookup lookup;
+            try {
+                // 在声明类中定义生成的实现类，使插件类加载器加载的事件类型同样可见
+                lookup = MethodHandles.privateLookupIn(owner, MethodHandles.lookup());
+                handle = lookup.unreflect(method);
+            } catch (IllegalAccessException e) {
+                return null;
+            }
+
+            try {
+                MethodType instantiated = MethodType.methodType(handle.type().wrap().returnType(), owner);
+                CallSite site = LambdaMetafactory.metafactory(lookup, "apply", MethodType.methodType(Function.class), MethodType.methodType(Object.class, Object.class), handle, instantiated);
+                return (Function<Object, Object>) site.getTarget().invoke();
+            } catch (Throwable e) {
+                return invoker(handle);
+            }
+        }
+
+        /**
+         * 通过公共查找对象访问 Getter 方法，方法声明在非公共类中时改用其公共父类或接口中的同名方法
+         * @param type 实际对象类型
+         * @param method Getter 方法
+         * @return Getter 函数，不存在可访问的声明时返回 null
+         */
+        private static Function<Object, Object> reflect(Class<?> type, Method method) {
+            for (Class<?> owner : hierarchy(type)) {
+                if (!Modifier.isPublic(owner.getModifiers()) || !owner.getModule().isExported(owner.getPackageName())) {
+                    continue;
+                }
+                try {
+                    return invoker(MethodHandles.publicLookup().unreflect(owner.getMethod(method.getName())));
+                } catch (NoSuchMethodException | IllegalAccessException ignored) {
+                }
+            }
+            return null;
+        }
+
+        private static List<Class<?>> hierarchy(Class<?> type) {
+            List<Class<?>> types = new ArrayList<>();
+            Deque<Class<?>> pending = new ArrayDeque<>(List.of(type));
+            while (!pending.isEmpty()) {
+                Class<?> current = pending.poll();
+                if (types.contains(current)) {
+                    continue;
+                }
+                types.add(current);
+                if (current.getSuperclass() != null) {
+                    pending.add(current.getSuperclass());
+                }
+                pending.addAll(List.of(current.getInterfaces()));
+            }
+            return types;
+        }
+
+        private static Function<Object, Object> invoker(MethodHandle handle) {
+            MethodHandle generic = handle.asType(MethodType.methodType(Object.class, Object.class));
+            return target -> {
+                try {
+                    return generic.invokeExact(target);
+                } catch (Throwable t) {
+                    return null;
+                }
+            };
+        }
+    }
+}
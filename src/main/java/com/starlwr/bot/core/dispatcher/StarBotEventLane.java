@@ -0,0 +1,65 @@
+package com.starlwr.bot.core.dispatcher;
+
+import com.starlwr.bot.core.event.StarBotExternalBaseEvent;
+import com.starlwr.bot.core.event.live.base.StarBotLiveConnectionEvent;
+import com.starlwr.bot.core.event.live.base.StarBotLivePurchaseEvent;
+import com.starlwr.bot.core.event.live.base.StarBotLiveStatusChangeEvent;
+import com.starlwr.bot.core.event.live.common.EnterRoomEvent;
+import com.starlwr.bot.core.event.live.common.LikeEvent;
+import com.starlwr.bot.core.event.live.common.ShareEvent;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * 事件优先级通道，负载过高时优先丢弃低优先级通道中的事件
+ */
+@Getter
+@AllArgsConstructor
+public enum StarBotEventLane {
+    /**
+     * 高优先级，消费事件、直播状态变更事件、连接状态变更事件，通道不限容量，永不因负载过高被丢弃
+     * 分条模式下仅在分条任务队列已满且等待超时后丢弃，避免无限期阻塞发布事件的线程
+     */
+    HIGH("高"),
+
+    /**
+     * 普通优先级，弹幕、表情、关注等事件
+     */
+    NORMAL("普通"),
+
+    /**
+     * 低优先级，进房、点赞、分享等高频互动事件，负载过高时最先丢弃
+     */
+    LOW("低");
+
+    private final String str;
+
+    private static final ClassValue<StarBotEventLane> LANES = new ClassValue<>() {
+        @Override
+        protected StarBotEventLane computeValue(@NonNull Class<?> type) {
+            if (StarBotLivePurchaseEvent.class.isAssignableFrom(type)
+                    || StarBotLiveStatusChangeEvent.class.isAssignableFrom(type)
+                    || StarBotLiveConnectionEvent.class.isAssignableFrom(type)) {
+                return HIGH;
+            }
+
+            if (EnterRoomEvent.class.isAssignableFrom(type)
+                    || LikeEvent.class.isAssignableFrom(type)
+                    || ShareEvent.class.isAssignableFrom(type)) {
+                return LOW;
+            }
+
+            return NORMAL;
+        }
+    };
+
+    /**
+     * 获取事件所属的优先级通道
+     * @param event 事件
+     * @return 优先级通道
+     */
+    public static StarBotEventLane of(@NonNull StarBotExternalBaseEvent event) {
+        return LANES.get(event.getClass());
+    }
+}
@@ -0,0 +1,306 @@
+package com.starlwr.bot.core.dispatcher;
+
+import com.starlwr.bot.core.event.StarBotExternalBaseEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+/**
+ * 事件时间重排序器，按直播间缓冲事件并按事件时间顺序输出
+ * 水位线为直播间已接收事件的最大事件时间减去允许的延迟，事件时间不晚于水位线的事件按顺序输出，事件时间早于已输出水位线的事件视为迟到事件
+ * 直播间超过允许的延迟未接收到新事件时，缓冲区中的事件将被全部输出，避免事件长时间滞留
+ * 缓冲区为空且长时间未接收到新事件的直播间将被移除，推送用户被移除时其直播间缓冲区也将被立即输出并移除
+ */
+@Slf4j
+public class StarBotEventReorderer {
+    private final Set<String> eventClasses;
+
+    private final long latenessMillis;
+
+    private final int maxBufferedPerRoom;
+
+    private final boolean dropLate;
+
+    private final long evictIdleMillis;
+
+    private final BiConsumer<List<StarBotExternalBaseEvent>, StarBotEventCompletion> sink;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("event-reorderer-"));
+
+    private final Map<RoomKey, RoomBuffer> rooms = new ConcurrentHashMap<>();
+
+    private final ClassValue<Boolean> applicable = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            for (Class<?> clazz = type; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+                if (eventClasses.contains(clazz.getName())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    };
+
+    private final LongAdder reorderedCount = new LongAdder();
+
+    private final LongAdder lateCount = new LongAdder();
+
+    private final LongAdder droppedCount = new LongAdder();
+
+    /**
+     * @param eventClasses 需重排序的事件全类名，可配置为事件基类
+     * @param latenessMillis 允许的最大延迟，单位：毫秒
+     * @param maxBufferedPerRoom 每个直播间最多缓冲的事件数量，超出时提前输出事件时间最早的事件
+     * @param dropLate 是否丢弃迟到事件，不丢弃时迟到事件将被立即输出
+     * @param sink 按事件时间排序后的事件输出，同时传入输出事件合并后的完成跟踪
+     */
+    public StarBotEventReorderer(Collection<String> eventClasses, long latenessMillis, int maxBufferedPerRoom, boolean dropLate, BiConsumer<List<StarBotExternalBaseEvent>, StarBotEventCompletion> sink) {
+        this.eventClasses = Set.copyOf(eventClasses);
+        this.latenessMillis = Math.max(1, latenessMillis);
+        this.maxBufferedPerRoom = Math.max(1, maxBufferedPerRoom);
+        this.dropLate = dropLate;
+        this.sink = sink;
+        // 移除直播间将丢失已输出水位线，需远晚于允许的延迟，避免移除后到达的迟到事件无法被识别
+        this.evictIdleMillis = Math.max(this.latenessMillis * 10, 60000);
+
+        long period = Math.max(1, this.latenessMillis / 2);
+        scheduler.scheduleAtFixedRate(this::flushIdleRooms, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 判断事件是否需要重排序
+     * @param event 事件
+     * @return 是否需要重排序
+     */
+    public boolean accepts(StarBotExternalBaseEvent event) {
+        return applicable.get(event.getClass());
+    }
+
+    /**
+     * 将事件加入所属直播间的缓冲区，并输出水位线之前的事件
+     * @param event 事件
+     * @param completion 事件的完成跟踪，随事件一同输出，被丢弃的迟到事件将直接结束跟踪
+     */
+    public void offer(StarBotExternalBaseEvent event, StarBotEventCompletion completion) {
+        RoomKey key = new RoomKey(event.getPlatform(), event.getSource().getUid());
+        while (true) {
+            RoomBuffer room = rooms.computeIfAbsent(key, k -> new RoomBuffer());
+            synchronized (room) {
+                // 获取缓冲区后直播间可能已被移除，此时重新创建缓冲区
+                if (!room.evicted) {
+                    offer(room, event, completion);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * 将事件加入直播间缓冲区，调用时需持有直播间缓冲区的锁
+     * @param room 直播间缓冲区
+     * @param event 事件
+     * @param completion 事件的完成跟踪
+     */
+    private void offer(RoomBuffer room, StarBotExternalBaseEvent event, StarBotEventCompletion completion) {
+        long timestamp = event.getTimestamp();
+        room.lastArrival = System.currentTimeMillis();
+
+        if (timestamp < room.emittedWatermark) {
+            lateCount.increment();
+            if (dropLate) {
+                droppedCount.increment();
+                StarBotEventCompletion.release(completion);
+            } else {
+                emit(List.of(event), completion);
+            }
+            return;
+        }
+
+        room.queue.add(new Entry(timestamp, room.sequence++, event, completion));
+        room.maxTimestamp = Math.max(room.maxTimestamp, timestamp);
+
+        List<Entry> released = new ArrayList<>();
+        long watermark = room.maxTimestamp - latenessMillis;
+        while (!room.queue.isEmpty() && (room.queue.peek().timestamp <= watermark || room.queue.size() > maxBufferedPerRoom)) {
+            Entry entry = room.queue.poll();
+            room.emittedWatermark = Math.max(room.emittedWatermark, entry.timestamp);
+            released.add(entry);
+        }
+        emit(released);
+    }
+
+    /**
+     * 输出并移除直播间缓冲区，用于推送用户被移除时释放其直播间状态
+     * @param platform 直播平台
+     * @param uid UID
+     */
+    public void remove(String platform, Long uid) {
+        RoomBuffer room = rooms.remove(new RoomKey(platform, uid));
+        if (room == null) {
+            return;
+        }
+
+        synchronized (room) {
+            room.evicted = true;
+            flush(room);
+        }
+    }
+
+    /**
+     * 输出超过允许的延迟未接收到新事件的直播间缓冲区中的全部事件，并移除长时间空闲的直播间
+     */
+    private void flushIdleRooms() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<RoomKey, RoomBuffer> entry : rooms.entrySet()) {
+            RoomBuffer room = entry.getValue();
+            synchronized (room) {
+                long idle = now - room.lastArrival;
+                if (!room.queue.isEmpty() && idle >= latenessMillis) {
+                    flush(room);
+                } else if (room.queue.isEmpty() && idle >= evictIdleMillis) {
+                    room.evicted = true;
+                    rooms.remove(entry.getKey(), room);
+                }
+            }
+        }
+    }
+
+    /**
+     * 输出直播间缓冲区中的全部事件，调用时需持有直播间缓冲区的锁
+     * @param room 直播间缓冲区
+     */
+    private void flush(RoomBuffer room) {
+        List<Entry> released = new ArrayList<>(room.queue.size());
+        while (!room.queue.isEmpty()) {
+            Entry entry = room.queue.poll();
+            room.emittedWatermark = Math.max(room.emittedWatermark, entry.timestamp);
+            released.add(entry);
+        }
+        emit(released);
+    }
+
+    /**
+     * 输出缓冲的事件，在持有直播间缓冲区的锁时调用，保证同一直播间的事件按顺序提交
+     * @param entries 缓冲的事件列表
+     */
+    private void emit(List<Entry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        List<StarBotExternalBaseEvent> events = new ArrayList<>(entries.size());
+        List<StarBotEventCompletion> completions = new ArrayList<>();
+        for (Entry entry : entries) {
+            events.add(entry.event);
+            if (entry.completion != null) {
+                completions.add(entry.completion);
+            }
+        }
+        emit(events, StarBotEventCompletion.all(completions));
+    }
+
+    /**
+     * 输出事件，在持有直播间缓冲区的锁时调用，保证同一直播间的事件按顺序提交
+     * @param events 事件列表
+     * @param completion 事件合并后的完成跟踪
+     */
+    private void emit(List<StarBotExternalBaseEvent> events, StarBotEventCompletion completion) {
+        reorderedCount.add(events.size());
+        try {
+            sink.accept(events, completion);
+        } catch (Exception e) {
+            log.error("输出重排序后的事件异常", e);
+        }
+    }
+
+    /**
+     * 获取已输出的事件数量
+     * @return 已输出的事件数量
+     */
+    public long getReorderedCount() {
+        return reorderedCount.sum();
+    }
+
+    /**
+     * 获取迟到事件数量
+     * @return 迟到事件数量
+     */
+    public long getLateCount() {
+        return lateCount.sum();
+    }
+
+    /**
+     * 获取被丢弃的迟到事件数量
+     * @return 丢弃的事件数量
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    /**
+     * 获取当前缓冲的直播间数量
+     * @return 直播间数量
+     */
+    public int getRoomCount() {
+        return rooms.size();
+    }
+
+    /**
+     * 关闭重排序器，缓冲区中的事件将被立即输出
+     */
+    public void shutdown() {
+        scheduler.shutdownNow();
+        for (RoomBuffer room : rooms.values()) {
+            synchronized (room) {
+                flush(room);
+            }
+        }
+    }
+
+    /**
+     * 直播间键
+     * @param platform 直播平台
+     * @param uid UID
+     */
+    private record RoomKey(String platform, Long uid) {
+    }
+
+    /**
+     * 缓冲的事件，事件时间相同时按接收顺序排列
+     * @param timestamp 事件时间
+     * @param sequence 接收序号
+     * @param event 事件
+     * @param completion 事件的完成跟踪
+     */
+    private record Entry(long timestamp, long sequence, StarBotExternalBaseEvent event, StarBotEventCompletion completion) implements Comparable<Entry> {
+        @Override
+        public int compareTo(Entry other) {
+            int result = Long.compare(timestamp, other.timestamp);
+            return result != 0 ? result : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    /**
+     * 直播间缓冲区
+     */
+    private static class RoomBuffer {
+        private final PriorityQueue<Entry> queue = new PriorityQueue<>();
+
+        private long sequence;
+
+        private long maxTimestamp = Long.MIN_VALUE;
+
+        private long emittedWatermark = Long.MIN_VALUE;
+
+        private long lastArrival;
+
+        private boolean evicted;
+    }
+}
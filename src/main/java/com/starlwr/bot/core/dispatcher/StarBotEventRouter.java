@@ -0,0 +1,181 @@
+package com.starlwr.bot.core.dispatcher;
+
+import com.starlwr.bot.core.config.StarBotCoreProperties;
+import com.starlwr.bot.core.datasource.AbstractDataSource;
+import com.starlwr.bot.core.event.StarBotExternalBaseEvent;
+import com.starlwr.bot.core.event.datasource.change.StarBotDataSourceAddEvent;
+import com.starlwr.bot.core.event.datasource.change.StarBotDataSourceUpdateEvent;
+import com.starlwr.bot.core.event.live.common.DanmuEvent;
+import com.starlwr.bot.core.handler.StarBotEventHandler;
+import com.starlwr.bot.core.model.PushMessage;
+import com.starlwr.bot.core.model.PushTarget;
+import com.starlwr.bot.core.model.PushUser;
+import com.starlwr.bot.core.util.AhoCorasick;
+import jakarta.annotation.Resource;
+import lombok.NonNull;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * StarBot 事件路由表，将推送用户的事件订阅预先编译为路由，根据数据源变更事件增量更新
+ * 路由随推送用户保存在数据源快照中，按直播平台编号与基本类型 UID 查询，数据源批量变更时路由表无需复制
+ * 推送消息可订阅具体事件类型，也可订阅事件基类 (例如 StarBotLiveGiftEvent)，具体事件类型首次出现时计算其匹配的订阅并缓存
+ * 配置了弹幕触发关键词的订阅按直播间编译为一个 Aho-Corasick 自动机，每条弹幕只需扫描一次即可得到所有命中的订阅
+ */
+@Component
+public class StarBotEventRouter {
+    /**
+     * 事件类型及其所有父类的全类名
+     */
+    private static final ClassValue<Set<String>> HIERARCHY = new ClassValue<>() {
+        @Override
+        protected Set<String> computeValue(@NonNull Class<?> type) {
+            Set<String> names = new HashSet<>();
+            for (Class<?> clazz = type; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+                names.add(clazz.getName());
+            }
+            return Set.copyOf(names);
+        }
+    };
+
+    @Resource
+    private StarBotCoreProperties properties;
+
+    @Resource
+    private AbstractDataSource dataSource;
+
+    @EventListener
+    public void onPushUserAdd(StarBotDataSourceAddEvent event) {
+        compile(event.getUser());
+    }
+
+    @EventListener
+    public void onPushUserUpdate(StarBotDataSourceUpdateEvent event) {
+        compile(event.getUser());
+    }
+
+    /**
+     * 编译推送用户的事件订阅并替换推送用户的旧路由，事件处理器已在数据源加载时绑定至推送消息，未绑定处理器的推送消息已在加载时报错，此处直接跳过
+     * @param user 推送用户
+     * @return 路由
+     */
+    private UserRoute compile(@NonNull PushUser user) {
+        List<StarBotEventSubscription> subscriptions = new ArrayList<>();
+        for (PushTarget target : user.getTargets()) {
+            for (PushMessage message : target.getMessages()) {
+                StarBotEventHandler handler = message.getEventHandler();
+                if (handler == null) {
+                    continue;
+                }
+
+                subscriptions.add(new StarBotEventSubscription(message, handler, StarBotEventThrottle.limitOf(message, properties.getEventThrottle())));
+            }
+        }
+
+        UserRoute route = new UserRoute(subscriptions);
+        user.setRoute(route);
+        return route;
+    }
+
+    /**
+     * 获取推送用户当前的路由，路由在推送用户变更时整体替换，调用方持有的路由对象不受后续变更影响
+     * 推送用户已加入数据源但尚未收到变更事件时在此编译路由，重复编译得到的路由相同
+     * @param platform 直播平台
+     * @param uid UID
+     * @return 路由，不存在该推送用户时返回 null
+     */
+    UserRoute resolve(@NonNull String platform, @NonNull Long uid) {
+        PushUser user = dataSource.getUserOrNull(dataSource.getPlatformId(platform), uid);
+        if (user == null) {
+            return null;
+        }
+
+        UserRoute route = user.getRoute();
+        return route != null ? route : compile(user);
+    }
+
+    /**
+     * 获取事件对应的订阅列表
+     * @param platform 直播平台
+     * @param uid UID
+     * @param eventClass 事件类型
+     * @return 订阅列表，不存在订阅时返回空列表
+     */
+    public List<StarBotEventSubscription> route(@NonNull String platform, @NonNull Long uid, @NonNull Class<? extends StarBotExternalBaseEvent> eventClass) {
+        UserRoute route = resolve(platform, uid);
+        return route != null ? route.get(eventClass) : Collections.emptyList();
+    }
+
+    /**
+     * 获取弹幕内容命中的关键词订阅
+     * @param platform 直播平台
+     * @param uid UID
+     * @param text 弹幕内容
+     * @return 命中关键词的订阅集合，未命中或不存在关键词订阅时返回空集合
+     */
+    public Set<StarBotEventSubscription> matchKeywords(@NonNull String platform, @NonNull Long uid, String text) {
+        UserRoute route = resolve(platform, uid);
+        return route != null ? route.matchKeywords(text) : Collections.emptySet();
+    }
+
+    /**
+     * 单个推送用户的订阅、按具体事件类型缓存的分发表及弹幕关键词自动机，订阅列表与关键词自动机来自同一次编译
+     */
+    public static final class UserRoute {
+        private final List<StarBotEventSubscription> subscriptions;
+
+        private final Map<Class<?>, List<StarBotEventSubscription>> dispatchTable = new ConcurrentHashMap<>();
+
+        private final AhoCorasick<StarBotEventSubscription> keywords;
+
+        private UserRoute(List<StarBotEventSubscription> subscriptions) {
+            this.subscriptions = List.copyOf(subscriptions);
+
+            Set<String> danmuHierarchy = HIERARCHY.get(DanmuEvent.class);
+            Map<String, List<StarBotEventSubscription>> index = new HashMap<>();
+            for (StarBotEventSubscription subscription : subscriptions) {
+                if (subscription.getKeywords() != null && danmuHierarchy.contains(subscription.getMessage().getEvent())) {
+                    for (String keyword : subscription.getKeywords()) {
+                        index.computeIfAbsent(keyword, k -> new ArrayList<>()).add(subscription);
+                    }
+                }
+            }
+            this.keywords = index.isEmpty() ? null : new AhoCorasick<>(index);
+        }
+
+        /**
+         * 获取事件类型对应的订阅列表
+         * @param eventClass 事件类型
+         * @return 订阅列表
+         */
+        List<StarBotEventSubscription> get(Class<?> eventClass) {
+            List<StarBotEventSubscription> result = dispatchTable.get(eventClass);
+            if (result == null) {
+                result = dispatchTable.computeIfAbsent(eventClass, this::resolve);
+            }
+            return result;
+        }
+
+        /**
+         * 获取弹幕内容命中的关键词订阅
+         * @param text 弹幕内容
+         * @return 命中关键词的订阅集合
+         */
+        Set<StarBotEventSubscription> matchKeywords(String text) {
+            if (keywords == null || text == null) {
+                return Collections.emptySet();
+            }
+            return keywords.matchAll(text);
+        }
+
+        private List<StarBotEventSubscription> resolve(Class<?> eventClass) {
+            Set<String> names = HIERARCHY.get(eventClass);
+            return subscriptions.stream()
+                    .filter(subscription -> names.contains(subscription.getMessage().getEvent()))
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.starlwr.bot.core.dispatcher;
+
+import com.alibaba.fastjson2.JSONArray;
+import com.alibaba.fastjson2.JSONObject;
+import com.starlwr.bot.core.event.StarBotExternalBaseEvent;
+import com.starlwr.bot.core.handler.StarBotBatchEventHandler;
+import com.starlwr.bot.core.handler.StarBotEventHandler;
+import com.starlwr.bot.core.model.PushMessage;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * 事件订阅，推送消息与其事件处理器的绑定关系，在数据源变更时编译生成
+ */
+@Slf4j
+@Getter
+public class StarBotEventSubscription {
+    /**
+     * 推送参数中弹幕触发关键词的键名
+     */
+    public static final String KEYWORDS_PARAM_KEY = "keywords";
+
+    /**
+     * 推送消息
+     */
+    private final PushMessage message;
+
+    /**
+     * 事件处理器
+     */
+    private final StarBotEventHandler handler;
+
+    /**
+     * 按具体事件类型划分的批量缓冲区，仅事件处理器为批量事件处理器时存在，订阅事件基类时每批事件的类型仍相同
+     */
+    @Getter(AccessLevel.NONE)
+    private final Map<Class<?>, StarBotEventBatch> batches;
+
+    /**
+     * 事件预过滤器，未配置时为 null
+     */
+    private final Predicate<StarBotExternalBaseEvent> filter;
+
+    /**
+     * 弹幕触发关键词，仅在推送参数中配置了 keywords 时存在，存在时仅命中关键词的弹幕事件会分发至该订阅
+     */
+    private final List<String> keywords;
+
+    /**
+     * 节流限制，未启用节流时为 null，节流窗口按推送目标与事件类型由分发器统一维护
+     */
+    private final StarBotEventThrottle.Limit throttleLimit;
+
+    public StarBotEventSubscription(PushMessage message, StarBotEventHandler handler) {
+        this(message, handler, null);
+    }
+
+    public StarBotEventSubscription(PushMessage message, StarBotEventHandler handler, StarBotEventThrottle.Limit throttleLimit) {
+        this.message = message;
+        this.handler = handler;
+        this.throttleLimit = throttleLimit;
+        this.filter = message.getEventFilter();
+        this.keywords = parseKeywords(message);
+        this.batches = handler instanceof StarBotBatchEventHandler ? new ConcurrentHashMap<>() : null;
+    }
+
+    /**
+     * 判断事件处理器是否为批量事件处理器
+     * @return 是否为批量事件处理器
+     */
+    public boolean isBatched() {
+        return batches != null;
+    }
+
+    /**
+     * 获取指定事件类型的批量缓冲区
+     * @param eventClass 事件类型
+     * @return 批量缓冲区，事件处理器不是批量事件处理器时返回 null
+     */
+    public StarBotEventBatch getBatch(Class<?> eventClass) {
+        if (batches == null) {
+            return null;
+        }
+
+        StarBotEventBatch batch = batches.get(eventClass);
+        if (batch == null) {
+            batch = batches.computeIfAbsent(eventClass, k -> new StarBotEventBatch(((StarBotBatchEventHandler) handler).getMaxBatchSize()));
+        }
+        return batch;
+    }
+
+    /**
+     * 解析推送参数中的弹幕触发关键词
+     * @param message 推送消息
+     * @return 关键词列表，未配置或配置的关键词均为空时返回 null
+     */
+    private static List<String> parseKeywords(PushMessage message) {
+        JSONObject params = message.getParamsJsonObject();
+        JSONArray array = params != null ? params.getJSONArray(KEYWORDS_PARAM_KEY) : null;
+        if (array == null || array.isEmpty()) {
+            return null;
+        }
+
+        List<String> keywords = array.stream().filter(Objects::nonNull).map(Object::toString).filter(keyword -> !keyword.isEmpty()).toList();
+        if (keywords.isEmpty()) {
+            log.error("推送消息配置的弹幕触发关键词均为空, 将视为未配置关键词, 请检查推送配置是否正确: {}", message.getParams());
+            return null;
+        }
+        return keywords;
+    }
+
+    /**
+     * 判断事件是否通过事件预过滤器
+     * @param event 事件
+     * @return 是否通过
+     */
+    public boolean accepts(StarBotExternalBaseEvent event) {
+        return filter == null || filter.test(event);
+    }
+
+    @Override
+    public String toString() {
+        return "StarBotEventSubscription(" + "message=" + message + ", handler=" + handler.getClass().getName() + ")";
+    }
+}
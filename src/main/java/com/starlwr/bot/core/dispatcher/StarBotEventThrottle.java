@@ -0,0 +1,224 @@
+package com.starlwr.bot.core.dispatcher;
+
+import com.alibaba.fastjson2.JSONObject;
+import com.starlwr.bot.core.config.StarBotCoreProperties;
+import com.starlwr.bot.core.event.StarBotExternalBaseEvent;
+import com.starlwr.bot.core.model.PushMessage;
+import com.starlwr.bot.core.model.PushTarget;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 事件节流器，按 (推送目标, 事件类型) 划分固定时间窗口，窗口内超出上限的事件不再逐个处理，而是累积至窗口结束时汇总处理一次
+ * 推送目标按 (推送平台, 类型, 号码) 判等，同一推送目标下的多个推送消息共享同一窗口的处理次数，节流状态由分发器持有，不随路由重新编译而重置
+ * 已结束且没有累积事件的窗口可通过 {@link #evictIdle()} 移除，避免推送目标与事件类型不断变化时窗口无限增长
+ */
+public class StarBotEventThrottle {
+    /**
+     * 推送参数中节流配置的键名
+     */
+    public static final String PARAM_KEY = "throttle";
+
+    private final Map<WindowKey, Window> windows = new ConcurrentHashMap<>();
+
+    /**
+     * 根据推送参数与全局配置获取推送消息的节流限制，推送参数中的 throttle 配置 (max_events、window_millis) 优先于全局配置
+     * @param message 推送消息
+     * @param config 全局节流配置
+     * @return 节流限制，推送参数与全局配置均未启用节流时返回 null
+     */
+    public static Limit limitOf(PushMessage message, StarBotCoreProperties.EventThrottle config) {
+        JSONObject params = message.getParamsJsonObject();
+        JSONObject throttle = params != null ? params.getJSONObject(PARAM_KEY) : null;
+        if (throttle != null) {
+            return new Limit(throttle.getIntValue("max_events", config.getMaxEvents()), throttle.getLongValue("window_millis", config.getWindowMillis()));
+        }
+
+        return config.isEnabled() ? new Limit(config.getMaxEvents(), config.getWindowMillis()) : null;
+    }
+
+    /**
+     * 提交事件至所属推送目标与事件类型的窗口
+     * @param subscription 事件订阅，须存在节流限制
+     * @param event 事件
+     * @param completion 事件的完成跟踪，事件被累积时将增加一次引用并在汇总处理结束时释放
+     * @return 节流结果
+     */
+    public Admission offer(StarBotEventSubscription subscription, StarBotExternalBaseEvent event, StarBotEventCompletion completion) {
+        WindowKey key = new WindowKey(subscription.getMessage().getTarget(), event.getClass());
+        while (true) {
+            // 窗口可能在取得后被并发移除，此时重新创建窗口
+            Admission admission = windows.computeIfAbsent(key, k -> new Window()).offer(subscription, event, completion, System.currentTimeMillis());
+            if (admission != null) {
+                return admission;
+            }
+        }
+    }
+
+    /**
+     * 获取距离指定推送目标与事件类型当前窗口结束的时间
+     * @param target 推送目标
+     * @param eventClass 事件类型
+     * @return 剩余时间，单位：毫秒
+     */
+    public long getFlushDelayMillis(PushTarget target, Class<?> eventClass) {
+        Window window = windows.get(new WindowKey(target, eventClass));
+        return window != null ? window.remainingMillis(System.currentTimeMillis()) : 0;
+    }
+
+    /**
+     * 取出指定推送目标与事件类型累积的全部事件
+     * @param target 推送目标
+     * @param eventClass 事件类型
+     * @return 累积的事件，没有累积事件时返回空结果
+     */
+    public Drained drain(PushTarget target, Class<?> eventClass) {
+        Window window = windows.get(new WindowKey(target, eventClass));
+        return window != null ? window.drain() : Drained.EMPTY;
+    }
+
+    /**
+     * 移除已结束且没有累积事件的窗口
+     * @return 移除的窗口数量
+     */
+    public int evictIdle() {
+        long now = System.currentTimeMillis();
+        int evicted = 0;
+        for (Map.Entry<WindowKey, Window> entry : windows.entrySet()) {
+            if (entry.getValue().retireIfIdle(now) && windows.remove(entry.getKey(), entry.getValue())) {
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * 获取当前的窗口数量
+     * @return 窗口数量
+     */
+    public int getWindowCount() {
+        return windows.size();
+    }
+
+    /**
+     * 节流限制
+     * @param maxEvents 每个时间窗口内的最大处理次数
+     * @param windowMillis 时间窗口，单位：毫秒
+     */
+    public record Limit(int maxEvents, long windowMillis) {
+        public Limit {
+            maxEvents = Math.max(1, maxEvents);
+            windowMillis = Math.max(1, windowMillis);
+        }
+    }
+
+    /**
+     * 取出的累积事件
+     * @param pending 按事件订阅分组的事件列表
+     * @param completion 累积事件合并后的完成跟踪，由汇总处理的调用者释放
+     */
+    public record Drained(Map<StarBotEventSubscription, List<StarBotExternalBaseEvent>> pending, StarBotEventCompletion completion) {
+        private static final Drained EMPTY = new Drained(Map.of(), null);
+    }
+
+    private record WindowKey(PushTarget target, Class<?> eventClass) {
+    }
+
+    /**
+     * 单个推送目标单个事件类型的时间窗口，窗口长度与上限取自开启窗口的事件所属订阅
+     */
+    private static class Window {
+        private long start;
+
+        private long windowMillis;
+
+        private int count;
+
+        private Map<StarBotEventSubscription, List<StarBotExternalBaseEvent>> pending = new LinkedHashMap<>();
+
+        private int pendingCount;
+
+        private List<StarBotEventCompletion> completions = new ArrayList<>();
+
+        private boolean retired;
+
+        /**
+         * @return 节流结果，窗口已被移除时返回 null
+         */
+        private synchronized Admission offer(StarBotEventSubscription subscription, StarBotExternalBaseEvent event, StarBotEventCompletion completion, long now) {
+            if (retired) {
+                return null;
+            }
+
+            Limit limit = subscription.getThrottleLimit();
+            if (now - start >= windowMillis) {
+                start = now;
+                windowMillis = limit.windowMillis();
+                count = 0;
+            }
+
+            if (++count <= limit.maxEvents()) {
+                return Admission.PASSED;
+            }
+
+            pending.computeIfAbsent(subscription, k -> new ArrayList<>()).add(event);
+            if (completion != null) {
+                StarBotEventCompletion.retain(completion);
+                completions.add(completion);
+            }
+            return ++pendingCount == 1 ? Admission.FIRST_THROTTLED : Admission.THROTTLED;
+        }
+
+        /**
+         * 窗口已结束且没有累积事件时将其标记为已移除
+         * @param now 当前时间
+         * @return 是否已标记为移除
+         */
+        private synchronized boolean retireIfIdle(long now) {
+            if (pendingCount == 0 && now - start >= windowMillis) {
+                retired = true;
+            }
+            return retired;
+        }
+
+        private synchronized long remainingMillis(long now) {
+            return Math.max(0, start + windowMillis - now);
+        }
+
+        private synchronized Drained drain() {
+            if (pendingCount == 0) {
+                return Drained.EMPTY;
+            }
+
+            Drained drained = new Drained(pending, StarBotEventCompletion.all(completions));
+            pending = new LinkedHashMap<>();
+            pendingCount = 0;
+            completions = new ArrayList<>();
+            return drained;
+        }
+    }
+
+    /**
+     * 节流结果
+     */
+    public enum Admission {
+        /**
+         * 未超出窗口上限，正常处理
+         */
+        PASSED,
+
+        /**
+         * 已超出窗口上限，事件为当前窗口第一个累积的事件，需安排窗口结束时的汇总处理
+         */
+        FIRST_THROTTLED,
+
+        /**
+         * 已超出窗口上限，事件已累积
+         */
+        THROTTLED
+    }
+}
@@ -0,0 +1,160 @@
+package com.starlwr.bot.core.dispatcher;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.Arrays;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 事件处理器舱壁，每个事件处理器使用独立的线程与有界队列执行，并限制单次执行时间，避免单个处理器拖慢其它处理器
+ * 舱壁由最大并发数个单线程通道组成，同一直播间的任务始终进入同一通道按提交顺序执行，以保持分条模式下同一直播间的处理顺序
+ */
+@Slf4j
+public class StarBotHandlerBulkhead {
+    /**
+     * 事件处理器全类名
+     */
+    @Getter
+    private final String name;
+
+    private final long timeoutMillis;
+
+    private final ThreadPoolExecutor[] lanes;
+
+    private final ScheduledExecutorService timeoutScheduler;
+
+    private final LongAdder rejectedCount = new LongAdder();
+
+    private final LongAdder timeoutCount = new LongAdder();
+
+    /**
+     * @param name 事件处理器全类名
+     * @param maxConcurrency 最大并发数，即通道数量
+     * @param queueCapacity 等待队列总容量，平均分配至各通道
+     * @param timeoutMillis 单次执行超时时间，单位：毫秒，超时后将中断执行线程
+     * @param timeoutScheduler 用于检测超时的调度器
+     */
+    public StarBotHandlerBulkhead(String name, int maxConcurrency, int queueCapacity, long timeoutMillis, ScheduledExecutorService timeoutScheduler) {
+        this.name = name;
+        this.timeoutMillis = timeoutMillis;
+        this.timeoutScheduler = timeoutScheduler;
+
+        String simpleName = name.substring(name.lastIndexOf('.') + 1);
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("bulkhead-" + simpleName + "-");
+        int laneCount = Math.max(1, maxConcurrency);
+        int laneCapacity = Math.max(1, queueCapacity / laneCount);
+        this.lanes = new ThreadPoolExecutor[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            this.lanes[i] = new ThreadPoolExecutor(1, 1, 60L, TimeUnit.SECONDS, new ArrayBlockingQueue<>(laneCapacity), threadFactory);
+            this.lanes[i].allowCoreThreadTimeOut(true);
+        }
+    }
+
+    /**
+     * 在舱壁中执行任务
+     * @param key 直播间的分条键，相同分条键的任务按提交顺序执行
+     * @param task 任务
+     * @return 是否提交成功，所属通道的等待队列已满时返回 false
+     */
+    public boolean execute(int key, Runnable task) {
+        return execute(key, task, null);
+    }
+
+    /**
+     * 在舱壁中执行任务，并在任务结束时执行回调
+     * @param key 直播间的分条键，相同分条键的任务按提交顺序执行
+     * @param task 任务
+     * @param onDone 任务执行完成或因超时被取消时执行的回调，提交失败时不执行
+     * @return 是否提交成功，所属通道的等待队列已满时返回 false
+     */
+    public boolean execute(int key, Runnable task, Runnable onDone) {
+        int h = key ^ (key >>> 16);
+        try {
+            lanes[Math.floorMod(h, lanes.length)].execute(new TimedTask(task, onDone));
+            return true;
+        } catch (RejectedExecutionException e) {
+            rejectedCount.increment();
+            return false;
+        }
+    }
+
+    /**
+     * 获取正在执行的任务数量
+     * @return 执行中的任务数量
+     */
+    public int getActiveCount() {
+        return Arrays.stream(lanes).mapToInt(ThreadPoolExecutor::getActiveCount).sum();
+    }
+
+    /**
+     * 获取等待执行的任务数量
+     * @return 等待中的任务数量
+     */
+    public int getQueueSize() {
+        return Arrays.stream(lanes).mapToInt(lane -> lane.getQueue().size()).sum();
+    }
+
+    /**
+     * 获取被拒绝的执行次数
+     * @return 拒绝次数
+     */
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    /**
+     * 获取执行超时次数
+     * @return 超时次数
+     */
+    public long getTimeoutCount() {
+        return timeoutCount.sum();
+    }
+
+    /**
+     * 关闭舱壁
+     */
+    public void shutdown() {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+    }
+
+    /**
+     * 带超时的任务，开始执行时启动计时，超时后通过任务自身的 Future 取消，仅在该任务仍在执行时中断执行线程
+     */
+    private class TimedTask extends FutureTask<Void> {
+        private final Runnable onDone;
+
+        private TimedTask(Runnable task, Runnable onDone) {
+            super(task, null);
+            this.onDone = onDone;
+        }
+
+        @Override
+        public void run() {
+            ScheduledFuture<?> timeout = timeoutScheduler.schedule(this::expire, timeoutMillis, TimeUnit.MILLISECONDS);
+            try {
+                super.run();
+            } finally {
+                timeout.cancel(false);
+            }
+        }
+
+        @Override
+        protected void done() {
+            if (onDone != null) {
+                onDone.run();
+            }
+        }
+
+        private void expire() {
+            if (cancel(true)) {
+                timeoutCount.increment();
+                log.warn("事件处理器 {} 执行超时 ({} 毫秒), 已中断执行线程", name, timeoutMillis);
+            }
+        }
+    }
+}
@@ -0,0 +1,400 @@
+package com.starlwr.bot.core.dispatcher;
+
+import com.starlwr.bot.core.codec.StarBotEventCodec;
+import com.starlwr.bot.core.config.StarBotCoreProperties;
+import com.starlwr.bot.core.event.StarBotExternalBaseEvent;
+import com.starlwr.bot.core.service.RedisService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.stream.*;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 基于 Redis Streams 的跨节点外部事件传输，通过 {@link RedisService} 的连接将外部事件发布至 Stream，所有节点以同一消费者组消费，任一节点均可处理事件
+ * 发布的事件进入待发布队列，由发布线程以管道批量写入，不阻塞发布事件的线程
+ * 事件的全部事件处理器调用结束后才被确认，确认按固定间隔批量发送，长时间未确认的事件 (例如消费节点宕机) 将被其它节点认领后重新分发
+ */
+@Slf4j
+@Profile("!core")
+@Component
+public class StarBotRedisStreamTransport {
+    private static final byte[] FIELD_EVENT = "e".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * 单次检查未确认事件时扫描的最大页数，每页包含单次读取的最大事件数量个事件
+     */
+    private static final int MAX_RECLAIM_PAGES = 10;
+
+    @Resource
+    private StarBotCoreProperties properties;
+
+    @Resource
+    private RedisService redisService;
+
+    @Resource
+    private StarBotEventDispatcher dispatcher;
+
+    private StarBotCoreProperties.RedisStream config;
+
+    private StringRedisTemplate redis;
+
+    private byte[] key;
+
+    private String consumerName;
+
+    private RedisStreamCommands.XAddOptions addOptions;
+
+    private final List<Thread> consumers = new ArrayList<>();
+
+    private Thread publisher;
+
+    private BlockingQueue<StarBotExternalBaseEvent> publishQueue;
+
+    private final Queue<RecordId> acks = new ConcurrentLinkedQueue<>();
+
+    private final Set<RecordId> inFlight = ConcurrentHashMap.newKeySet();
+
+    private ScheduledExecutorService scheduler;
+
+    private RecordId reclaimCursor;
+
+    private volatile boolean running;
+
+    private final LongAdder publishedCount = new LongAdder();
+
+    private final LongAdder consumedCount = new LongAdder();
+
+    private final LongAdder reclaimedCount = new LongAdder();
+
+    private final LongAdder failedCount = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        config = properties.getRedisStream();
+        if (!config.isEnabled()) {
+            return;
+        }
+
+        redis = redisService.getTemplate();
+        key = config.getKey().getBytes(StandardCharsets.UTF_8);
+        consumerName = config.getConsumer() != null && !config.getConsumer().isBlank() ? config.getConsumer() : defaultConsumerName();
+        addOptions = RedisStreamCommands.XAddOptions.maxlen(config.getMaxLength()).approximateTrimming(true);
+        publishQueue = new ArrayBlockingQueue<>(config.getPublishQueueCapacity());
+
+        try {
+            redis.execute((RedisCallback<String>) connection -> connection.streamCommands().xGroupCreate(key, config.getGroup(), ReadOffset.latest(), true));
+        } catch (Exception e) {
+            // 消费者组已存在
+            log.debug("创建 Redis Stream 消费者组 {} 失败, 消费者组可能已存在: {}", config.getGroup(), e.getMessage());
+        }
+
+        running = true;
+        for (int i = 0; i < config.getConsumers(); i++) {
+            Thread consumer = new Thread(this::consume, "redis-stream-consumer-" + (i + 1));
+            consumer.setDaemon(true);
+            consumer.start();
+            consumers.add(consumer);
+        }
+
+        publisher = new Thread(this::publishLoop, "redis-stream-publisher");
+        publisher.setDaemon(true);
+        publisher.start();
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("redis-stream-scheduler-"));
+        scheduler.scheduleWithFixedDelay(this::reclaim, config.getReclaimIntervalMillis(), config.getReclaimIntervalMillis(), TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::flushAcks, config.getAckIntervalMillis(), config.getAckIntervalMillis(), TimeUnit.MILLISECONDS);
+
+        log.info("已启用 Redis Stream 事件传输, Stream: {}, 消费者组: {}, 消费者: {}", config.getKey(), config.getGroup(), consumerName);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        running = false;
+        if (publisher != null) {
+            publisher.interrupt();
+        }
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            flushAcks();
+        }
+    }
+
+    /**
+     * 是否已启用 Redis Stream 事件传输
+     * @return 是否已启用
+     */
+    public boolean isEnabled() {
+        return running;
+    }
+
+    /**
+     * 将外部事件加入待发布队列，不等待写入 Redis Stream，队列已满时在本节点直接分发
+     * @param event 事件
+     */
+    public void publish(StarBotExternalBaseEvent event) {
+        if (!publishQueue.offer(event)) {
+            log.warn("Redis Stream 待发布事件队列已满, 将在本节点直接分发: {}", event.getClass().getSimpleName());
+            dispatcher.dispatch(event);
+        }
+    }
+
+    /**
+     * 发布线程主循环，每次取出队列中的全部待发布事件 (至多单次读取的最大事件数量) 以管道批量写入
+     */
+    private void publishLoop() {
+        List<StarBotExternalBaseEvent> batch = new ArrayList<>(config.getBatchSize());
+        while (running || !publishQueue.isEmpty()) {
+            try {
+                StarBotExternalBaseEvent first = running ? publishQueue.take() : publishQueue.poll();
+                if (first == null) {
+                    break;
+                }
+                batch.add(first);
+                publishQueue.drainTo(batch, config.getBatchSize() - 1);
+            } catch (InterruptedException e) {
+                if (!running) {
+                    continue;
+                }
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            publishBatch(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * 以管道批量写入事件，写入失败时在本节点直接分发
+     * @param batch 事件列表
+     */
+    private void publishBatch(List<StarBotExternalBaseEvent> batch) {
+        try {
+            redis.executePipelined((RedisCallback<Object>) connection -> {
+                for (StarBotExternalBaseEvent event : batch) {
+                    ByteRecord record = StreamRecords.rawBytes(Map.of(FIELD_EVENT, StarBotEventCodec.encode(event))).withStreamKey(key);
+                    connection.streamCommands().xAdd(record, addOptions);
+                }
+                return null;
+            });
+            publishedCount.add(batch.size());
+        } catch (Exception e) {
+            log.error("发布 {} 个事件至 Redis Stream 失败, 将在本节点直接分发", batch.size(), e);
+            batch.forEach(dispatcher::dispatch);
+        }
+    }
+
+    /**
+     * 消费线程主循环
+     */
+    private void consume() {
+        Consumer consumer = Consumer.from(config.getGroup(), consumerName);
+        StreamReadOptions options = StreamReadOptions.empty().count(config.getBatchSize()).block(Duration.ofMillis(config.getBlockMillis()));
+        // 读取接口仅提供泛型可变参数，提前创建一次参数数组，数组仅包含 StreamOffset<byte[]>，不会造成堆污染
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        StreamOffset<byte[]>[] offsets = new StreamOffset[]{StreamOffset.create(key, ReadOffset.lastConsumed())};
+
+        while (running) {
+            try {
+                List<ByteRecord> records = redis.execute((RedisCallback<List<ByteRecord>>) connection -> connection.streamCommands().xReadGroup(consumer, options, offsets));
+                if (records != null && !records.isEmpty()) {
+                    consumedCount.add(records.size());
+                    handle(records);
+                }
+            } catch (Exception e) {
+                if (running) {
+                    log.error("从 Redis Stream 读取事件异常", e);
+                    sleep(config.getBlockMillis());
+                }
+            }
+        }
+    }
+
+    /**
+     * 认领其它消费者长时间未确认的事件并重新分发
+     * 以上次检查到的位置为起点分页扫描未确认事件列表，跳过本节点处理中与尚未超时的事件，直至凑满单次读取的最大事件数量、
+     * 扫描至列表末尾或达到单次检查的最大页数，列表头部长时间处理中的事件不会阻碍之后的事件被认领
+     */
+    private void reclaim() {
+        try {
+            Duration minIdle = Duration.ofMillis(config.getReclaimIdleMillis());
+            List<RecordId> ids = new ArrayList<>();
+            for (int page = 0; page < MAX_RECLAIM_PAGES && ids.size() < config.getBatchSize(); page++) {
+                Range<String> range = reclaimCursor == null ? Range.unbounded() : Range.rightUnbounded(Range.Bound.inclusive(reclaimCursor.getValue()));
+                PendingMessages pending = redis.execute((RedisCallback<PendingMessages>) connection ->
+                        connection.streamCommands().xPending(key, config.getGroup(), range, (long) config.getBatchSize()));
+                if (pending == null || pending.isEmpty()) {
+                    reclaimCursor = null;
+                    break;
+                }
+
+                for (PendingMessage message : pending) {
+                    if (message.getElapsedTimeSinceLastDelivery().compareTo(minIdle) >= 0 && !inFlight.contains(message.getId())) {
+                        ids.add(message.getId());
+                    }
+                }
+
+                if (pending.size() < config.getBatchSize()) {
+                    reclaimCursor = null;
+                    break;
+                }
+                reclaimCursor = next(pending.get(pending.size() - 1).getId());
+            }
+            if (ids.isEmpty()) {
+                return;
+            }
+
+            RedisStreamCommands.XClaimOptions options = RedisStreamCommands.XClaimOptions.minIdle(minIdle).ids(ids.toArray(RecordId[]::new));
+            List<ByteRecord> records = redis.execute((RedisCallback<List<ByteRecord>>) connection -> connection.streamCommands().xClaim(key, config.getGroup(), consumerName, options));
+            if (records != null && !records.isEmpty()) {
+                reclaimedCount.add(records.size());
+                log.warn("已认领 {} 个长时间未确认的 Redis Stream 事件", records.size());
+                handle(records);
+            }
+        } catch (Exception e) {
+            log.error("认领 Redis Stream 未确认事件异常", e);
+        }
+    }
+
+    /**
+     * 获取紧随指定记录 ID 之后的记录 ID，用作下一页的起点
+     * @param id 记录 ID
+     * @return 下一个记录 ID
+     */
+    private static RecordId next(RecordId id) {
+        return RecordId.of(id.getTimestamp(), id.getSequence() + 1);
+    }
+
+    /**
+     * 将读取到的事件交给事件分发器，事件的全部事件处理器调用结束后加入待确认队列，无法解析的事件同样确认，避免被反复认领
+     * 本节点处理中的事件不会被本节点重复认领
+     * @param records 读取到的记录
+     */
+    private void handle(List<ByteRecord> records) {
+        for (ByteRecord record : records) {
+            RecordId id = record.getId();
+            if (!inFlight.add(id)) {
+                continue;
+            }
+
+            try {
+                dispatcher.dispatch(decode(record), () -> complete(id));
+            } catch (Exception e) {
+                failedCount.increment();
+                log.error("处理 Redis Stream 事件 {} 异常", id, e);
+                complete(id);
+            }
+        }
+    }
+
+    /**
+     * 标记事件处理结束并加入待确认队列
+     * @param id 记录 ID
+     */
+    private void complete(RecordId id) {
+        inFlight.remove(id);
+        acks.add(id);
+    }
+
+    /**
+     * 批量确认待确认队列中的事件
+     */
+    private void flushAcks() {
+        if (acks.isEmpty()) {
+            return;
+        }
+
+        List<RecordId> ids = new ArrayList<>();
+        RecordId id;
+        while ((id = acks.poll()) != null) {
+            ids.add(id);
+        }
+
+        try {
+            redis.execute((RedisCallback<Long>) connection -> connection.streamCommands().xAck(key, config.getGroup(), ids.toArray(RecordId[]::new)));
+        } catch (Exception e) {
+            // 未确认的事件将在超时后被重新认领
+            log.error("确认 {} 个 Redis Stream 事件失败", ids.size(), e);
+        }
+    }
+
+    /**
+     * 解析 Stream 记录为外部事件
+     * @param record Stream 记录
+     * @return 事件
+     */
+    private static StarBotExternalBaseEvent decode(ByteRecord record) {
+        for (Map.Entry<byte[], byte[]> field : record.getValue().entrySet()) {
+            if (Arrays.equals(field.getKey(), FIELD_EVENT)) {
+                return StarBotEventCodec.decode(field.getValue());
+            }
+        }
+        throw new IllegalArgumentException("Redis Stream 记录缺少事件内容");
+    }
+
+    private static String defaultConsumerName() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        return host + "-" + ManagementFactory.getRuntimeMXBean().getPid();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 获取发布至 Redis Stream 的事件数量
+     * @return 事件数量
+     */
+    public long getPublishedCount() {
+        return publishedCount.sum();
+    }
+
+    /**
+     * 获取从 Redis Stream 消费的事件数量
+     * @return 事件数量
+     */
+    public long getConsumedCount() {
+        return consumedCount.sum();
+    }
+
+    /**
+     * 获取从其它消费者认领的事件数量
+     * @return 事件数量
+     */
+    public long getReclaimedCount() {
+        return reclaimedCount.sum();
+    }
+
+    /**
+     * 获取无法解析或分发失败的事件数量
+     * @return 事件数量
+     */
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+}
@@ -0,0 +1,21 @@
+package com.starlwr.bot.core.enums;
+
+/**
+ * 线程池运行模式
+ */
+public enum ThreadMode {
+    /**
+     * 平台线程池
+     */
+    PLATFORM,
+
+    /**
+     * 虚拟线程，每个任务使用一个新的虚拟线程执行，需 JDK 21 及以上版本，不支持时回退至平台线程池
+     */
+    VIRTUAL,
+
+    /**
+     * 分条执行，同一直播间的事件按顺序执行，不同直播间的事件并行执行，仅事件处理线程支持
+     */
+    STRIPED
+}
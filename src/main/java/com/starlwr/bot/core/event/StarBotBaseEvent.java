@@ -7,23 +7,88 @@ import org.springframework.context.ApplicationEvent;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
 
 /**
  * StarBot 事件基类
+ * 所有事件共享同一个事件源对象，未指定事件时间时使用当前时间，指定的事件时间通过构造参数传入，同一毫秒的事件共享同一个时钟
  */
 @Getter
 @Setter
 public class StarBotBaseEvent extends ApplicationEvent {
+    /**
+     * 共享的事件源对象，StarBot 事件不使用 {@link ApplicationEvent} 的事件源
+     */
+    private static final Object SOURCE = new Object();
+
+    /**
+     * 按时间戳直接映射的共享时钟，时钟不可变，并发覆盖同一槽位时仅会重新创建时钟
+     */
+    private static final EpochMillisClock[] CLOCKS = new EpochMillisClock[1024];
+
     public StarBotBaseEvent() {
-        super(new Object());
+        super(SOURCE);
     }
 
     public StarBotBaseEvent(Instant instant) {
-        super(new Object(), Clock.fixed(instant, ZoneId.systemDefault()));
+        this(instant.toEpochMilli());
+    }
+
+    /**
+     * @param timestamp 事件时间戳，单位：毫秒
+     */
+    public StarBotBaseEvent(long timestamp) {
+        super(SOURCE, clock(timestamp));
+    }
+
+    /**
+     * 获取指定时间戳的共享时钟，槽位中的时钟时间不一致时创建新的时钟替换
+     * @param timestamp 时间戳，单位：毫秒
+     * @return 时钟
+     */
+    private static Clock clock(long timestamp) {
+        int index = (int) timestamp & (CLOCKS.length - 1);
+        EpochMillisClock clock = CLOCKS[index];
+        if (clock == null || clock.millis != timestamp) {
+            clock = new EpochMillisClock(timestamp);
+            CLOCKS[index] = clock;
+        }
+        return clock;
     }
 
     @Override
     public String toString() {
         return "StarBotBaseEvent(" + "timestamp=" + getTimestamp() + ")";
     }
+
+    /**
+     * 固定时间的不可变时钟，用于向 {@link ApplicationEvent} 传递构造参数中的事件时间，字段均为 final，可在线程间安全共享
+     */
+    private static final class EpochMillisClock extends Clock {
+        private final long millis;
+
+        private EpochMillisClock(long millis) {
+            this.millis = millis;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return Clock.fixed(instant(), zone);
+        }
+    }
 }
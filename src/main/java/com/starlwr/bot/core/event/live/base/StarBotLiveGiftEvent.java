@@ -26,12 +26,12 @@ public class StarBotLiveGiftEvent extends StarBotLivePurchaseEvent {
     private GiftInfo giftInfo;
 
     public StarBotLiveGiftEvent(String platform, LiveStreamerInfo source, UserInfo sender, GiftInfo giftInfo) {
-        super(platform, source, sender, MathUtil.multiply(giftInfo.getPrice(), giftInfo.getCount()));
+        super(platform, source, sender);
         this.giftInfo = giftInfo;
     }
 
     public StarBotLiveGiftEvent(String platform, LiveStreamerInfo source, UserInfo sender, GiftInfo giftInfo, Instant instant) {
-        super(platform, source, sender, MathUtil.multiply(giftInfo.getPrice(), giftInfo.getCount()), instant);
+        super(platform, source, sender, instant);
         this.giftInfo = giftInfo;
     }
 
@@ -46,12 +46,12 @@ public class StarBotLiveGiftEvent extends StarBotLivePurchaseEvent {
     }
 
     public StarBotLiveGiftEvent(LivePlatform platform, LiveStreamerInfo source, UserInfo sender, GiftInfo giftInfo) {
-        super(platform, source, sender, MathUtil.multiply(giftInfo.getPrice(), giftInfo.getCount()));
+        super(platform, source, sender);
         this.giftInfo = giftInfo;
     }
 
     public StarBotLiveGiftEvent(LivePlatform platform, LiveStreamerInfo source, UserInfo sender, GiftInfo giftInfo, Instant instant) {
-        super(platform, source, sender, MathUtil.multiply(giftInfo.getPrice(), giftInfo.getCount()), instant);
+        super(platform, source, sender, instant);
         this.giftInfo = giftInfo;
     }
 
@@ -64,4 +64,12 @@ public class StarBotLiveGiftEvent extends StarBotLivePurchaseEvent {
         super(platform, source, sender, value, instant);
         this.giftInfo = giftInfo;
     }
+
+    @Override
+    protected Double computeValue() {
+        if (giftInfo == null || giftInfo.getPrice() == null || giftInfo.getCount() == null) {
+            return null;
+        }
+        return MathUtil.multiply(giftInfo.getPrice(), giftInfo.getCount());
+    }
 }
@@ -23,6 +23,14 @@ public class StarBotLivePurchaseEvent extends StarBotLiveInteractionEvent {
      */
     private Double value;
 
+    public StarBotLivePurchaseEvent(String platform, LiveStreamerInfo source, UserInfo sender) {
+        super(platform, source, sender);
+    }
+
+    public StarBotLivePurchaseEvent(String platform, LiveStreamerInfo source, UserInfo sender, Instant instant) {
+        super(platform, source, sender, instant);
+    }
+
     public StarBotLivePurchaseEvent(String platform, LiveStreamerInfo source, UserInfo sender, Double value) {
         super(platform, source, sender);
         this.value = value;
@@ -33,6 +41,14 @@ public class StarBotLivePurchaseEvent extends StarBotLiveInteractionEvent {
         this.value = value;
     }
 
+    public StarBotLivePurchaseEvent(LivePlatform platform, LiveStreamerInfo source, UserInfo sender) {
+        super(platform, source, sender);
+    }
+
+    public StarBotLivePurchaseEvent(LivePlatform platform, LiveStreamerInfo source, UserInfo sender, Instant instant) {
+        super(platform, source, sender, instant);
+    }
+
     public StarBotLivePurchaseEvent(LivePlatform platform, LiveStreamerInfo source, UserInfo sender, Double value) {
         super(platform, source, sender);
         this.value = value;
@@ -42,4 +58,23 @@ public class StarBotLivePurchaseEvent extends StarBotLiveInteractionEvent {
         super(platform, source, sender, instant);
         this.value = value;
     }
+
+    /**
+     * 获取总价值，未指定总价值时在首次获取时计算，计算结果仅取决于事件内容，并发获取时重复计算不影响结果
+     * @return 总价值
+     */
+    public Double getValue() {
+        if (value == null) {
+            value = computeValue();
+        }
+        return value;
+    }
+
+    /**
+     * 计算总价值，由子类根据事件内容实现
+     * @return 总价值，无法计算时返回 null
+     */
+    protected Double computeValue() {
+        return null;
+    }
 }
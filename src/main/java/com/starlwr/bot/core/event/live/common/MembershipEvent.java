@@ -36,30 +36,38 @@ public class MembershipEvent extends StarBotLivePurchaseEvent {
     private String unit;
 
     public MembershipEvent(String platform, LiveStreamerInfo source, UserInfo sender, Double price, Integer count, String unit) {
-        super(platform, source, sender, MathUtil.multiply(price, count));
+        super(platform, source, sender);
         this.price = price;
         this.count = count;
         this.unit = unit;
     }
 
     public MembershipEvent(String platform, LiveStreamerInfo source, UserInfo sender, Double price, Integer count, String unit, Instant instant) {
-        super(platform, source, sender, MathUtil.multiply(price, count), instant);
+        super(platform, source, sender, instant);
         this.price = price;
         this.count = count;
         this.unit = unit;
     }
 
     public MembershipEvent(LivePlatform platform, LiveStreamerInfo source, UserInfo sender, Double price, Integer count, String unit) {
-        super(platform, source, sender, MathUtil.multiply(price, count));
+        super(platform, source, sender);
         this.price = price;
         this.count = count;
         this.unit = unit;
     }
 
     public MembershipEvent(LivePlatform platform, LiveStreamerInfo source, UserInfo sender, Double price, Integer count, String unit, Instant instant) {
-        super(platform, source, sender, MathUtil.multiply(price, count), instant);
+        super(platform, source, sender, instant);
         this.price = price;
         this.count = count;
         this.unit = unit;
     }
+
+    @Override
+    protected Double computeValue() {
+        if (price == null || count == null) {
+            return null;
+        }
+        return MathUtil.multiply(price, count);
+    }
 }
@@ -37,58 +37,72 @@ public class RandomGiftEvent extends StarBotLiveGiftEvent {
     private Double profit;
 
     public RandomGiftEvent(String platform, LiveStreamerInfo source, UserInfo sender, GiftInfo randomGiftInfo, GiftInfo giftInfo) {
-        super(platform, source, sender, giftInfo, MathUtil.multiply(giftInfo.getPrice(), giftInfo.getCount()));
+        super(platform, source, sender, giftInfo);
         this.randomGiftInfo = randomGiftInfo;
-        this.price = MathUtil.multiply(randomGiftInfo.getPrice(), randomGiftInfo.getCount());
-        this.profit = MathUtil.subtract(getValue(), price);
     }
 
     public RandomGiftEvent(String platform, LiveStreamerInfo source, UserInfo sender, GiftInfo randomGiftInfo, GiftInfo giftInfo, Instant instant) {
-        super(platform, source, sender, giftInfo, MathUtil.multiply(giftInfo.getPrice(), giftInfo.getCount()), instant);
+        super(platform, source, sender, giftInfo, instant);
         this.randomGiftInfo = randomGiftInfo;
-        this.price = MathUtil.multiply(randomGiftInfo.getPrice(), randomGiftInfo.getCount());
-        this.profit = MathUtil.subtract(getValue(), price);
     }
 
     public RandomGiftEvent(String platform, LiveStreamerInfo source, UserInfo sender, GiftInfo randomGiftInfo, GiftInfo giftInfo, Double price, Double value) {
         super(platform, source, sender, giftInfo, value);
         this.randomGiftInfo = randomGiftInfo;
         this.price = price;
-        this.profit = MathUtil.subtract(value, price);
     }
 
     public RandomGiftEvent(String platform, LiveStreamerInfo source, UserInfo sender, GiftInfo randomGiftInfo, GiftInfo giftInfo, Double price, Double value, Instant instant) {
         super(platform, source, sender, giftInfo, value, instant);
         this.randomGiftInfo = randomGiftInfo;
         this.price = price;
-        this.profit = MathUtil.subtract(value, price);
     }
 
     public RandomGiftEvent(LivePlatform platform, LiveStreamerInfo source, UserInfo sender, GiftInfo randomGiftInfo, GiftInfo giftInfo) {
-        super(platform, source, sender, giftInfo, MathUtil.multiply(giftInfo.getPrice(), giftInfo.getCount()));
+        super(platform, source, sender, giftInfo);
         this.randomGiftInfo = randomGiftInfo;
-        this.price = MathUtil.multiply(randomGiftInfo.getPrice(), randomGiftInfo.getCount());
-        this.profit = MathUtil.subtract(getValue(), price);
     }
 
     public RandomGiftEvent(LivePlatform platform, LiveStreamerInfo source, UserInfo sender, GiftInfo randomGiftInfo, GiftInfo giftInfo, Instant instant) {
-        super(platform, source, sender, giftInfo, MathUtil.multiply(giftInfo.getPrice(), giftInfo.getCount()), instant);
+        super(platform, source, sender, giftInfo, instant);
         this.randomGiftInfo = randomGiftInfo;
-        this.price = MathUtil.multiply(randomGiftInfo.getPrice(), randomGiftInfo.getCount());
-        this.profit = MathUtil.subtract(getValue(), price);
     }
 
     public RandomGiftEvent(LivePlatform platform, LiveStreamerInfo source, UserInfo sender, GiftInfo randomGiftInfo, GiftInfo giftInfo, Double price, Double value) {
         super(platform, source, sender, giftInfo, value);
         this.randomGiftInfo = randomGiftInfo;
         this.price = price;
-        this.profit = MathUtil.subtract(value, price);
     }
 
     public RandomGiftEvent(LivePlatform platform, LiveStreamerInfo source, UserInfo sender, GiftInfo randomGiftInfo, GiftInfo giftInfo, Double price, Double value, Instant instant) {
         super(platform, source, sender, giftInfo, value, instant);
         this.randomGiftInfo = randomGiftInfo;
         this.price = price;
-        this.profit = MathUtil.subtract(value, price);
+    }
+
+    /**
+     * 获取总价格，未指定总价格时在首次获取时根据随机礼物信息计算
+     * @return 总价格
+     */
+    public Double getPrice() {
+        if (price == null && randomGiftInfo != null && randomGiftInfo.getPrice() != null && randomGiftInfo.getCount() != null) {
+            price = MathUtil.multiply(randomGiftInfo.getPrice(), randomGiftInfo.getCount());
+        }
+        return price;
+    }
+
+    /**
+     * 获取盈亏，在首次获取时根据总价值与总价格计算
+     * @return 盈亏
+     */
+    public Double getProfit() {
+        if (profit == null) {
+            Double value = getValue();
+            Double price = getPrice();
+            if (value != null && price != null) {
+                profit = MathUtil.subtract(value, price);
+            }
+        }
+        return profit;
     }
 }
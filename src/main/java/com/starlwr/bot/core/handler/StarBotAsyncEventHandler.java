@@ -0,0 +1,52 @@
+package com.starlwr.bot.core.handler;
+
+import com.starlwr.bot.core.event.StarBotExternalBaseEvent;
+import com.starlwr.bot.core.model.PushMessage;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * StarBot 异步事件处理器接口，适用于下载图片、绘图、发送消息等包含较多等待的处理流程
+ * 事件分发线程调用 {@link #handleAsync(StarBotExternalBaseEvent, PushMessage)} 后立即返回，由分发器跟踪返回的 Future 的完成情况
+ * 基于 Reactor 的实现可返回 {@code mono.then().toFuture()}
+ */
+public interface StarBotAsyncEventHandler extends StarBotEventHandler {
+    /**
+     * 异步处理事件
+     * @param baseEvent 事件
+     * @param pushMessage 推送消息
+     * @return 处理完成时完成的 Future
+     */
+    CompletableFuture<Void> handleAsync(StarBotExternalBaseEvent baseEvent, PushMessage pushMessage);
+
+    /**
+     * 同步处理事件，默认等待异步处理完成
+     * @param baseEvent 事件
+     * @param pushMessage 推送消息
+     */
+    @Override
+    default void handle(StarBotExternalBaseEvent baseEvent, PushMessage pushMessage) {
+        handleAsync(baseEvent, pushMessage).join();
+    }
+
+    /**
+     * 异步汇总处理节流窗口内被累积的事件，默认仅处理最新的事件
+     * @param baseEvents 被累积的事件，按到达顺序排列，至少包含一个事件
+     * @param pushMessage 推送消息
+     * @return 处理完成时完成的 Future
+     */
+    default CompletableFuture<Void> handleThrottledAsync(List<StarBotExternalBaseEvent> baseEvents, PushMessage pushMessage) {
+        return handleAsync(baseEvents.get(baseEvents.size() - 1), pushMessage);
+    }
+
+    /**
+     * 汇总处理节流窗口内被累积的事件，默认等待异步汇总处理完成
+     * @param baseEvents 被累积的事件，按到达顺序排列，至少包含一个事件
+     * @param pushMessage 推送消息
+     */
+    @Override
+    default void handleThrottled(List<StarBotExternalBaseEvent> baseEvents, PushMessage pushMessage) {
+        handleThrottledAsync(baseEvents, pushMessage).join();
+    }
+}
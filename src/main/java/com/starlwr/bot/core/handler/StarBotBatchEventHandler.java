@@ -0,0 +1,45 @@
+package com.starlwr.bot.core.handler;
+
+import com.starlwr.bot.core.event.StarBotExternalBaseEvent;
+import com.starlwr.bot.core.model.PushMessage;
+
+import java.util.List;
+
+/**
+ * StarBot 批量事件处理器接口，实现此接口的事件处理器将批量接收同一推送消息的同类型事件
+ * 事件在每个推送消息按具体事件类型划分的独立缓冲区中累积，订阅事件基类时同一批次中的事件类型也相同，达到最大批量大小或最大等待时间后调用 {@link #handleBatch(List, PushMessage)}
+ */
+public interface StarBotBatchEventHandler extends StarBotEventHandler {
+    /**
+     * 批量处理事件
+     * @param events 事件列表，按到达顺序排列
+     * @param pushMessage 推送消息
+     */
+    void handleBatch(List<StarBotExternalBaseEvent> events, PushMessage pushMessage);
+
+    /**
+     * 处理单个事件，默认作为仅含一个事件的批次处理
+     * @param baseEvent 事件
+     * @param pushMessage 推送消息
+     */
+    @Override
+    default void handle(StarBotExternalBaseEvent baseEvent, PushMessage pushMessage) {
+        handleBatch(List.of(baseEvent), pushMessage);
+    }
+
+    /**
+     * 获取最大批量大小，缓冲区中的事件达到此数量时立即处理
+     * @return 最大批量大小
+     */
+    default int getMaxBatchSize() {
+        return 100;
+    }
+
+    /**
+     * 获取最大等待时间，缓冲区中第一个事件到达后超过此时间立即处理，单位：毫秒
+     * @return 最大等待时间
+     */
+    default long getMaxBatchDelayMillis() {
+        return 1000;
+    }
+}
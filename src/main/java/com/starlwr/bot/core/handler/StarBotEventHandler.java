@@ -5,6 +5,8 @@ import com.starlwr.bot.core.event.StarBotExternalBaseEvent;
 import com.starlwr.bot.core.model.PushMessage;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 /**
  * StarBot 事件处理器接口，推送配置中配置的事件处理器实现均应实现此接口，并使用 {@link Component} 等注解注册至 Spring 容器中
  */
@@ -16,6 +18,15 @@ public interface StarBotEventHandler {
      */
     void handle(StarBotExternalBaseEvent baseEvent, PushMessage pushMessage);
 
+    /**
+     * 汇总处理节流窗口内被累积的事件，默认仅处理最新的事件，可覆盖此方法以在汇总消息中体现被累积的事件数量
+     * @param baseEvents 被累积的事件，按到达顺序排列，至少包含一个事件
+     * @param pushMessage 推送消息
+     */
+    default void handleThrottled(List<StarBotExternalBaseEvent> baseEvents, PushMessage pushMessage) {
+        handle(baseEvents.get(baseEvents.size() - 1), pushMessage);
+    }
+
     /**
      * 获取事件处理器默认参数
      * @return 默认参数
@@ -1,64 +1,57 @@
 package com.starlwr.bot.core.listener;
 
-import com.starlwr.bot.core.datasource.AbstractDataSource;
+import com.starlwr.bot.core.dispatcher.StarBotEventBus;
+import com.starlwr.bot.core.dispatcher.StarBotEventDispatcher;
+import com.starlwr.bot.core.dispatcher.StarBotRedisStreamTransport;
 import com.starlwr.bot.core.event.StarBotExternalBaseEvent;
-import com.starlwr.bot.core.handler.StarBotEventHandler;
-import com.starlwr.bot.core.model.PushMessage;
-import com.starlwr.bot.core.model.PushTarget;
-import com.starlwr.bot.core.model.PushUser;
-import com.starlwr.bot.core.service.StarBotEventHandlerService;
+import com.starlwr.bot.core.record.StarBotEventRecorder;
+import jakarta.annotation.PostConstruct;
 import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.event.EventListener;
 import org.springframework.core.annotation.Order;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
-import java.util.Optional;
-
 /**
- * StarBot 外部事件监听器
+ * StarBot 外部事件监听器，将通过 Spring 事件广播发布的外部事件交给事件分发器，由外部事件总线桥接而来的事件已分发过，直接忽略
+ * 启用 Redis Stream 事件传输时，事件将发布至 Redis Stream，由任一节点消费后分发
  */
 @Slf4j
 @Order(0)
 @Component
 public class StarBotExternalBaseEventListener {
     @Resource
-    private AbstractDataSource dataSource;
+    private StarBotEventDispatcher dispatcher;
+
+    @Resource
+    private ObjectProvider<StarBotRedisStreamTransport> transportProvider;
 
     @Resource
-    private StarBotEventHandlerService handlerService;
+    private StarBotEventRecorder recorder;
+
+    private StarBotRedisStreamTransport transport;
+
+    @PostConstruct
+    public void init() {
+        StarBotRedisStreamTransport available = transportProvider.getIfAvailable();
+        transport = available != null && available.isEnabled() ? available : null;
+    }
 
-    @Async("eventHandlerThreadPool")
     @EventListener
     public void handleEvent(StarBotExternalBaseEvent event) {
-        log.debug("接收到事件 {}: {}", event.getClass().getSimpleName(), event);
-
-        Optional<PushUser> optionalUser = dataSource.getUser(event.getPlatform(), event.getSource().getUid());
-        if (optionalUser.isEmpty()) {
+        if (StarBotEventBus.isBridging()) {
             return;
         }
 
-        String eventClass = event.getClass().getName();
+        log.debug("接收到事件 {}: {}", event.getClass().getSimpleName(), event);
 
-        PushUser user = optionalUser.get();
-        for (PushTarget target : user.getTargets()) {
-            for (PushMessage message : target.getMessages()) {
-                if (eventClass.equals(message.getEvent())) {
-                    Optional<StarBotEventHandler> optionalHandler = handlerService.getHandler(message.getEvent(), message.getHandler());
+        recorder.record(event);
 
-                    optionalHandler.ifPresentOrElse(
-                            handler -> {
-                                try {
-                                    handler.handle(event, message);
-                                } catch (Exception e) {
-                                    log.error("事件处理器 {} 处理事件 {} 异常", handler.getClass().getName(), eventClass, e);
-                                }
-                            },
-                            () -> log.error("未找到事件 {} 的处理器, 请检查推送配置是否正确", message.getEvent())
-                    );
-                }
-            }
+        if (transport != null) {
+            transport.publish(event);
+        } else {
+            dispatcher.dispatch(event);
         }
     }
 }
@@ -1,27 +1,45 @@
 package com.starlwr.bot.core.model;
 
-import lombok.*;
+import com.alibaba.fastjson2.annotation.JSONCreator;
+import lombok.Getter;
+import lombok.ToString;
 
 /**
  * 主播信息
+ * 主播信息不可变，同一主播的实例可在多个事件及事件处理器间共享，需修改时应创建新的实例
  */
 @Getter
-@Setter
-@ToString(callSuper = true)
-@NoArgsConstructor
-public class LiveStreamerInfo extends UserInfo {
+@ToString
+public final class LiveStreamerInfo {
+    /**
+     * UID
+     */
+    private final Long uid;
+
+    /**
+     * 昵称
+     */
+    private final String uname;
+
+    /**
+     * 头像
+     */
+    private final String face;
+
     /**
      * 房间号
      */
-    private Long roomId;
+    private final Long roomId;
 
     public LiveStreamerInfo(Long uid, String uname, Long roomId) {
-        super(uid, uname);
-        this.roomId = roomId;
+        this(uid, uname, roomId, null);
     }
 
+    @JSONCreator(parameterNames = {"uid", "uname", "roomId", "face"})
     public LiveStreamerInfo(Long uid, String uname, Long roomId, String face) {
-        super(uid, uname, face);
+        this.uid = uid;
+        this.uname = uname;
+        this.face = face;
         this.roomId = roomId;
     }
 }
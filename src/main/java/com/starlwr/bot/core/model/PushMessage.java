@@ -2,6 +2,8 @@ package com.starlwr.bot.core.model;
 
 import com.alibaba.fastjson2.JSONObject;
 import com.alibaba.fastjson2.annotation.JSONField;
+import com.starlwr.bot.core.event.StarBotExternalBaseEvent;
+import com.starlwr.bot.core.handler.StarBotEventHandler;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -9,6 +11,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Profile;
 
 import java.util.Objects;
+import java.util.function.Predicate;
 
 /**
  * 推送消息
@@ -37,7 +40,7 @@ public class PushMessage {
     private PushTarget target;
 
     /**
-     * 事件全类名
+     * 事件全类名，可配置为事件基类 (例如 StarBotLiveGiftEvent) 以订阅其所有子类事件
      */
     @Column(name = "event")
     private String event;
@@ -61,6 +64,20 @@ public class PushMessage {
     @JSONField(serialize = false)
     private JSONObject paramsJsonObject;
 
+    /**
+     * 事件处理器实例，加载推送配置时根据 event 与 handler 参数解析，未找到处理器时为 null
+     */
+    @Transient
+    @JSONField(serialize = false)
+    private StarBotEventHandler eventHandler;
+
+    /**
+     * 事件预过滤器，加载推送配置时根据推送参数中的 filter 配置编译，未配置时为 null
+     */
+    @Transient
+    @JSONField(serialize = false)
+    private Predicate<StarBotExternalBaseEvent> eventFilter;
+
     /**
      * 是否启用
      */
@@ -1,5 +1,7 @@
 package com.starlwr.bot.core.model;
 
+import com.alibaba.fastjson2.annotation.JSONField;
+import com.starlwr.bot.core.dispatcher.StarBotEventRouter;
 import com.starlwr.bot.core.enums.LivePlatform;
 import jakarta.persistence.*;
 import lombok.Getter;
@@ -69,6 +71,13 @@ public class PushUser {
     @OneToMany(mappedBy = "user", fetch = FetchType.EAGER, cascade = CascadeType.ALL, orphanRemoval = true)
     private List<PushTarget> targets = new ArrayList<>();
 
+    /**
+     * 编译后的事件路由，推送用户加入数据源后由事件路由表维护，推送用户变更时随推送用户整体替换
+     */
+    @Transient
+    @JSONField(serialize = false, deserialize = false)
+    private volatile StarBotEventRouter.UserRoute route;
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
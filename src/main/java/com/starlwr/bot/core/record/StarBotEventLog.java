@@ -0,0 +1,155 @@
+package com.starlwr.bot.core.record;
+
+import com.starlwr.bot.core.codec.StarBotEventCodec;
+import com.starlwr.bot.core.event.StarBotExternalBaseEvent;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 事件日志文件格式，文件头为魔数与版本号，之后为连续的事件记录
+ * 每条记录依次为: 接收时间戳、事件长度、{@link StarBotEventCodec} 编码的事件，版本 1 的日志仍可读取，其事件内容为 JSONB 格式
+ */
+public final class StarBotEventLog {
+    /**
+     * 事件日志文件扩展名
+     */
+    public static final String EXTENSION = ".sblog";
+
+    private static final int MAGIC = 0x53424C47;
+
+    private static final int VERSION = 2;
+
+    private static final int VERSION_JSONB = 1;
+
+    private StarBotEventLog() {
+    }
+
+    /**
+     * 写入文件头
+     * @param output 输出流
+     * @throws IOException 写入失败
+     */
+    static void writeHeader(DataOutputStream output) throws IOException {
+        output.writeInt(MAGIC);
+        output.writeInt(VERSION);
+    }
+
+    /**
+     * 写入一条事件记录
+     * @param output 输出流
+     * @param arrivalMillis 接收时间戳，单位：毫秒
+     * @param event 事件
+     * @throws IOException 写入失败
+     */
+    static void writeRecord(DataOutputStream output, long arrivalMillis, StarBotExternalBaseEvent event) throws IOException {
+        byte[] data = StarBotEventCodec.encode(event);
+        output.writeLong(arrivalMillis);
+        output.writeInt(data.length);
+        output.write(data);
+    }
+
+    /**
+     * 列出路径下的事件日志文件，路径为文件时直接返回该文件
+     * @param path 文件或目录路径
+     * @return 按文件名排序的事件日志文件列表
+     * @throws IOException 读取目录失败
+     */
+    public static List<Path> list(Path path) throws IOException {
+        if (!Files.isDirectory(path)) {
+            return List.of(path);
+        }
+
+        try (Stream<Path> files = Files.list(path)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(EXTENSION)).sorted().toList();
+        }
+    }
+
+    /**
+     * 事件日志读取器
+     */
+    public static class Reader implements Closeable {
+        private final DataInputStream input;
+
+        private final int version;
+
+        /**
+         * @param file 事件日志文件
+         * @throws IOException 打开文件失败或文件格式错误
+         */
+        public Reader(Path file) throws IOException {
+            this.input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16));
+            if (input.readInt() != MAGIC) {
+                input.close();
+                throw new IOException("不是事件日志文件: " + file);
+            }
+            version = input.readInt();
+            if (version != VERSION && version != VERSION_JSONB) {
+                input.close();
+                throw new IOException("不支持的事件日志版本 " + version + ": " + file);
+            }
+        }
+
+        /**
+         * 读取下一条事件记录
+         * @return 事件记录，已读取至文件末尾或文件末尾记录不完整时返回 null
+         * @throws IOException 读取失败
+         */
+        public Entry next() throws IOException {
+            long arrivalMillis;
+            try {
+                arrivalMillis = input.readLong();
+            } catch (EOFException e) {
+                return null;
+            }
+
+            try {
+                if (version == VERSION_JSONB) {
+                    long timestamp = input.readLong();
+                    String type = input.readUTF();
+                    byte[] data = new byte[input.readInt()];
+                    input.readFully(data);
+                    return new Entry(arrivalMillis, StarBotEventCodec.decodeJsonb(type, timestamp, data));
+                }
+
+                byte[] data = new byte[input.readInt()];
+                input.readFully(data);
+                return new Entry(arrivalMillis, StarBotEventCodec.decode(data));
+            } catch (EOFException e) {
+                // 录制进程异常退出时最后一条记录可能不完整
+                return null;
+            }
+        }
+
+        /**
+         * 读取全部事件记录
+         * @return 事件记录列表
+         * @throws IOException 读取失败
+         */
+        public List<Entry> readAll() throws IOException {
+            List<Entry> entries = new ArrayList<>();
+            Entry entry;
+            while ((entry = next()) != null) {
+                entries.add(entry);
+            }
+            return entries;
+        }
+
+        @Override
+        public void close() throws IOException {
+            input.close();
+        }
+    }
+
+    /**
+     * 事件记录
+     * @param arrivalMillis 接收时间戳，单位：毫秒
+     * @param event 事件
+     */
+    public record Entry(long arrivalMillis, StarBotExternalBaseEvent event) {
+    }
+}
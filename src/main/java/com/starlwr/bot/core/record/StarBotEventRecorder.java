@@ -0,0 +1,208 @@
+package com.starlwr.bot.core.record;
+
+import com.starlwr.bot.core.config.StarBotCoreProperties;
+import com.starlwr.bot.core.event.StarBotExternalBaseEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 外部事件录制器，将接收到的外部事件追加写入滚动的二进制事件日志，用于事件回放与负载测试
+ * 事件先放入有界队列，由独立的写入线程序列化并写入文件，队列已满时丢弃事件，不阻塞发布事件的线程
+ */
+@Slf4j
+@Component
+public class StarBotEventRecorder {
+    private static final DateTimeFormatter FILE_NAME_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    @Resource
+    private StarBotCoreProperties properties;
+
+    private StarBotCoreProperties.EventRecord config;
+
+    private BlockingQueue<StarBotEventLog.Entry> queue;
+
+    private Thread writer;
+
+    private volatile boolean running;
+
+    private DataOutputStream output;
+
+    private long fileBytes;
+
+    private int fileSequence;
+
+    private final LongAdder recordedCount = new LongAdder();
+
+    private final LongAdder droppedCount = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        config = properties.getEventRecord();
+        if (!config.isEnabled()) {
+            return;
+        }
+
+        queue = new ArrayBlockingQueue<>(config.getQueueCapacity());
+        running = true;
+        writer = new Thread(this::write, "event-recorder");
+        writer.setDaemon(true);
+        writer.start();
+
+        log.info("已启用外部事件录制, 事件日志目录: {}", Paths.get(config.getDirectory()).toAbsolutePath());
+    }
+
+    @PreDestroy
+    public void destroy() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+
+        running = false;
+        writer.join(5000);
+    }
+
+    /**
+     * 是否已启用事件录制
+     * @return 是否已启用
+     */
+    public boolean isEnabled() {
+        return running;
+    }
+
+    /**
+     * 录制外部事件
+     * @param event 事件
+     */
+    public void record(StarBotExternalBaseEvent event) {
+        if (!running) {
+            return;
+        }
+
+        if (!queue.offer(new StarBotEventLog.Entry(System.currentTimeMillis(), event))) {
+            droppedCount.increment();
+        }
+    }
+
+    /**
+     * 写入线程主循环
+     */
+    private void write() {
+        try {
+            while (running || !queue.isEmpty()) {
+                StarBotEventLog.Entry entry = queue.poll(1, TimeUnit.SECONDS);
+                if (entry == null) {
+                    flush();
+                    continue;
+                }
+
+                try {
+                    append(entry);
+                    recordedCount.increment();
+                } catch (Exception e) {
+                    log.error("录制事件 {} 异常", entry.event().getClass().getName(), e);
+                    closeFile();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            closeFile();
+        }
+    }
+
+    /**
+     * 写入一条事件记录，当前文件超出大小上限时滚动至新文件
+     * @param entry 事件记录
+     * @throws IOException 写入失败
+     */
+    private void append(StarBotEventLog.Entry entry) throws IOException {
+        if (output == null || fileBytes >= config.getMaxFileBytes()) {
+            rotate();
+        }
+
+        int before = output.size();
+        StarBotEventLog.writeRecord(output, entry.arrivalMillis(), entry.event());
+        fileBytes += output.size() - before;
+    }
+
+    /**
+     * 关闭当前文件并创建新文件，超出保留数量的最旧文件将被删除
+     * @throws IOException 创建文件失败
+     */
+    private void rotate() throws IOException {
+        closeFile();
+
+        Path directory = Paths.get(config.getDirectory());
+        Files.createDirectories(directory);
+        Path file = directory.resolve("events-" + LocalDateTime.now().format(FILE_NAME_FORMATTER) + "-" + String.format("%04d", fileSequence++) + StarBotEventLog.EXTENSION);
+
+        output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16));
+        StarBotEventLog.writeHeader(output);
+        fileBytes = output.size();
+
+        List<Path> files = StarBotEventLog.list(directory);
+        for (int i = 0; i < files.size() - config.getMaxFiles(); i++) {
+            Files.deleteIfExists(files.get(i));
+            log.info("删除过期的事件日志: {}", files.get(i));
+        }
+    }
+
+    private void flush() {
+        if (output == null) {
+            return;
+        }
+
+        try {
+            output.flush();
+        } catch (IOException e) {
+            log.error("写入事件日志异常", e);
+            closeFile();
+        }
+    }
+
+    private void closeFile() {
+        if (output == null) {
+            return;
+        }
+
+        try {
+            output.close();
+        } catch (IOException e) {
+            log.error("关闭事件日志异常", e);
+        }
+        output = null;
+    }
+
+    /**
+     * 获取已录制的事件数量
+     * @return 事件数量
+     */
+    public long getRecordedCount() {
+        return recordedCount.sum();
+    }
+
+    /**
+     * 获取因队列已满而丢弃的事件数量
+     * @return 事件数量
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+}
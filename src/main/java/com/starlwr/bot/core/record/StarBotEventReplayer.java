@@ -0,0 +1,197 @@
+package com.starlwr.bot.core.record;
+
+import com.starlwr.bot.core.config.StarBotCoreProperties;
+import com.starlwr.bot.core.dispatcher.StarBotEventDispatcher;
+import com.starlwr.bot.core.event.datasource.other.StarBotDataSourceLoadCompleteEvent;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 外部事件回放器，将事件日志中的事件按原始到达间隔重新交给事件分发器，用于复现线上负载
+ * 回放的事件直接进入事件分发器，不会被再次录制，也不会发布至 Spring 事件广播
+ * 处理耗时统计从交给事件分发器开始，至事件的全部事件处理器调用结束为止，回放结束后等待已分发的事件处理完成再输出统计
+ */
+@Slf4j
+@Component
+public class StarBotEventReplayer {
+    @Resource
+    private StarBotCoreProperties properties;
+
+    @Resource
+    private StarBotEventDispatcher dispatcher;
+
+    @EventListener
+    public void onDataSourceLoadComplete(StarBotDataSourceLoadCompleteEvent event) {
+        StarBotCoreProperties.EventReplay config = properties.getEventReplay();
+        if (config.getPath() == null || config.getPath().isBlank()) {
+            return;
+        }
+
+        Thread thread = new Thread(() -> {
+            try {
+                replay(Paths.get(config.getPath()), config.getSpeed(), config.getDrainTimeoutMillis());
+            } catch (Exception e) {
+                log.error("回放事件日志 {} 异常", config.getPath(), e);
+            }
+        }, "event-replayer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * 回放事件日志
+     * @param path 事件日志文件或目录，目录下的事件日志按文件名顺序回放
+     * @param speed 回放倍速，1 为原速，小于等于 0 时不等待，以最快速度回放
+     * @param drainTimeoutMillis 回放结束后等待已分发事件处理完成的最长时间，单位：毫秒
+     * @return 回放统计
+     * @throws IOException 读取事件日志失败
+     * @throws InterruptedException 等待事件处理完成时被中断
+     */
+    public ReplaySummary replay(Path path, double speed, long drainTimeoutMillis) throws IOException, InterruptedException {
+        log.info("开始回放事件日志: {}, 倍速: {}", path, speed > 0 ? speed : "最快");
+
+        long count = 0;
+        long failed = 0;
+        long totalDispatchNanos = 0;
+        long maxDispatchNanos = 0;
+        long maxLagNanos = 0;
+        HandleLatency latency = new HandleLatency();
+        long firstArrival = -1;
+        long start = System.nanoTime();
+
+        for (Path file : StarBotEventLog.list(path)) {
+            try (StarBotEventLog.Reader reader = new StarBotEventLog.Reader(file)) {
+                StarBotEventLog.Entry entry;
+                while ((entry = reader.next()) != null) {
+                    if (firstArrival < 0) {
+                        firstArrival = entry.arrivalMillis();
+                    }
+
+                    if (speed > 0) {
+                        long due = start + (long) (TimeUnit.MILLISECONDS.toNanos(entry.arrivalMillis() - firstArrival) / speed);
+                        long wait = due - System.nanoTime();
+                        if (wait > 0) {
+                            LockSupport.parkNanos(wait);
+                        }
+                        maxLagNanos = Math.max(maxLagNanos, System.nanoTime() - due);
+                    }
+
+                    long dispatchStart = System.nanoTime();
+                    latency.begin();
+                    try {
+                        dispatcher.dispatch(entry.event(), () -> latency.end(dispatchStart));
+                    } catch (Exception e) {
+                        failed++;
+                        latency.abandon();
+                        log.error("回放事件 {} 异常", entry.event().getClass().getName(), e);
+                    }
+                    long dispatchNanos = System.nanoTime() - dispatchStart;
+                    totalDispatchNanos += dispatchNanos;
+                    maxDispatchNanos = Math.max(maxDispatchNanos, dispatchNanos);
+                    count++;
+                }
+            }
+        }
+
+        long pending = latency.await(drainTimeoutMillis);
+        if (pending > 0) {
+            log.warn("等待 {} 毫秒后仍有 {} 个回放事件未处理完成", drainTimeoutMillis, pending);
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        long handled = latency.count.sum();
+        ReplaySummary summary = new ReplaySummary(
+                count,
+                failed,
+                pending,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                elapsedNanos > 0 ? count * 1e9 / elapsedNanos : 0,
+                count > 0 ? totalDispatchNanos / 1e3 / count : 0,
+                maxDispatchNanos / 1e3,
+                handled > 0 ? latency.totalNanos.sum() / 1e6 / handled : 0,
+                latency.maxNanos.get() / 1e6,
+                maxLagNanos / 1e6
+        );
+        log.info("事件日志回放完成: {}", summary);
+        return summary;
+    }
+
+    /**
+     * 已分发事件的处理耗时统计，记录尚未处理完成的事件数量，用于回放结束后等待处理完成
+     */
+    private static class HandleLatency {
+        private final AtomicLong pending = new AtomicLong();
+
+        private final LongAdder count = new LongAdder();
+
+        private final LongAdder totalNanos = new LongAdder();
+
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private void begin() {
+            pending.incrementAndGet();
+        }
+
+        private void end(long dispatchStart) {
+            long nanos = System.nanoTime() - dispatchStart;
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+            abandon();
+        }
+
+        private void abandon() {
+            if (pending.decrementAndGet() == 0) {
+                synchronized (this) {
+                    notifyAll();
+                }
+            }
+        }
+
+        /**
+         * 等待已分发的事件全部处理完成
+         * @param timeoutMillis 最长等待时间，单位：毫秒
+         * @return 超时后仍未处理完成的事件数量
+         * @throws InterruptedException 等待时被中断
+         */
+        private synchronized long await(long timeoutMillis) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + timeoutMillis;
+            long remaining;
+            while (pending.get() > 0 && (remaining = deadline - System.currentTimeMillis()) > 0) {
+                wait(remaining);
+            }
+            return pending.get();
+        }
+    }
+
+    /**
+     * 回放统计
+     * @param events 回放的事件数量
+     * @param failed 分发失败的事件数量
+     * @param pending 等待超时后仍未处理完成的事件数量
+     * @param elapsedMillis 回放耗时，包括等待事件处理完成的时间，单位：毫秒
+     * @param throughput 吞吐量，单位：事件/秒
+     * @param averageDispatchMicros 平均分发耗时，即交给事件分发器的耗时，单位：微秒
+     * @param maxDispatchMicros 最大分发耗时，单位：微秒
+     * @param averageHandleMillis 平均处理耗时，即交给事件分发器至全部事件处理器调用结束的耗时，单位：毫秒
+     * @param maxHandleMillis 最大处理耗时，单位：毫秒
+     * @param maxLagMillis 相对原始到达时间的最大延迟，单位：毫秒，仅按倍速回放时统计
+     */
+    public record ReplaySummary(long events, long failed, long pending, long elapsedMillis, double throughput, double averageDispatchMicros, double maxDispatchMicros, double averageHandleMillis, double maxHandleMillis, double maxLagMillis) {
+        @Override
+        public String toString() {
+            return String.format("事件数量: %d, 失败: %d, 未完成: %d, 耗时: %d 毫秒, 吞吐量: %.1f 事件/秒, 平均分发耗时: %.1f 微秒, 最大分发耗时: %.1f 微秒, 平均处理耗时: %.2f 毫秒, 最大处理耗时: %.2f 毫秒, 最大延迟: %.1f 毫秒",
+                    events, failed, pending, elapsedMillis, throughput, averageDispatchMicros, maxDispatchMicros, averageHandleMillis, maxHandleMillis, maxLagMillis);
+        }
+    }
+}
@@ -64,6 +64,14 @@ public class RedisService {
         }
     }
 
+    /**
+     * 获取 Redis 连接模板
+     * @return Redis 连接模板
+     */
+    public StringRedisTemplate getTemplate() {
+        return redis;
+    }
+
     /**
      * 获取指定直播平台的 Redis 实例
      * @param platform 直播平台名称
@@ -0,0 +1,148 @@
+package com.starlwr.bot.core.util;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Aho-Corasick 多模式匹配自动机，创建后不可变，可被多个线程并发使用，单次匹配只需对文本进行一次线性扫描
+ * @param <T> 关键词关联的负载类型
+ */
+public class AhoCorasick<T> {
+    /**
+     * 每个状态的转移字符，已升序排序
+     */
+    private final char[][] labels;
+
+    /**
+     * 每个状态的转移目标，与 labels 一一对应
+     */
+    private final int[][] targets;
+
+    /**
+     * 每个状态的失配转移目标
+     */
+    private final int[] fails;
+
+    /**
+     * 每个状态匹配到的负载，已合并失配链上所有状态的负载
+     */
+    private final Object[][] outputs;
+
+    /**
+     * @param keywords 关键词及其关联的负载，空关键词将被忽略
+     */
+    public AhoCorasick(Map<String, ? extends Collection<T>> keywords) {
+        List<Map<Character, Integer>> trie = new ArrayList<>();
+        List<Set<T>> own = new ArrayList<>();
+        trie.add(new HashMap<>());
+        own.add(new LinkedHashSet<>());
+
+        for (Map.Entry<String, ? extends Collection<T>> entry : keywords.entrySet()) {
+            String keyword = entry.getKey();
+            if (keyword == null || keyword.isEmpty()) {
+                continue;
+            }
+
+            int state = 0;
+            for (int i = 0; i < keyword.length(); i++) {
+                Integer next = trie.get(state).get(keyword.charAt(i));
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new HashMap<>());
+                    own.add(new LinkedHashSet<>());
+                    trie.get(state).put(keyword.charAt(i), next);
+                }
+                state = next;
+            }
+            own.get(state).addAll(entry.getValue());
+        }
+
+        int size = trie.size();
+        this.labels = new char[size][];
+        this.targets = new int[size][];
+        this.fails = new int[size];
+        this.outputs = new Object[size][];
+
+        for (int state = 0; state < size; state++) {
+            List<Character> chars = new ArrayList<>(trie.get(state).keySet());
+            Collections.sort(chars);
+            labels[state] = new char[chars.size()];
+            targets[state] = new int[chars.size()];
+            for (int i = 0; i < chars.size(); i++) {
+                labels[state][i] = chars.get(i);
+                targets[state][i] = trie.get(state).get(chars.get(i));
+            }
+        }
+
+        // 按广度优先顺序计算失配转移，父状态的失配转移与输出总是先于子状态确定
+        Deque<Integer> queue = new ArrayDeque<>();
+        outputs[0] = own.get(0).toArray();
+        for (int child : targets[0]) {
+            fails[child] = 0;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            Set<Object> merged = new LinkedHashSet<>(own.get(state));
+            merged.addAll(Arrays.asList(outputs[fails[state]]));
+            outputs[state] = merged.toArray();
+
+            for (int i = 0; i < labels[state].length; i++) {
+                char c = labels[state][i];
+                int child = targets[state][i];
+                int fail = fails[state];
+                int next;
+                while ((next = transition(fail, c)) < 0 && fail != 0) {
+                    fail = fails[fail];
+                }
+                fails[child] = next >= 0 ? next : 0;
+                queue.add(child);
+            }
+        }
+    }
+
+    private int transition(int state, char c) {
+        int index = Arrays.binarySearch(labels[state], c);
+        return index >= 0 ? targets[state][index] : -1;
+    }
+
+    /**
+     * 在文本中查找所有关键词，每次命中关键词时回调其关联的负载，同一负载可能被回调多次
+     * @param text 文本
+     * @param consumer 负载回调
+     */
+    @SuppressWarnings("unchecked")
+    public void match(CharSequence text, Consumer<T> consumer) {
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            int next;
+            while ((next = transition(state, c)) < 0 && state != 0) {
+                state = fails[state];
+            }
+            state = Math.max(next, 0);
+            for (Object output : outputs[state]) {
+                consumer.accept((T) output);
+            }
+        }
+    }
+
+    /**
+     * 在文本中查找所有关键词，返回命中的负载集合
+     * @param text 文本
+     * @return 命中的负载集合，未命中时返回空集合
+     */
+    public Set<T> matchAll(CharSequence text) {
+        Set<T> result = new HashSet<>();
+        match(text, result::add);
+        return result;
+    }
+
+    /**
+     * 获取自动机状态数量
+     * @return 状态数量
+     */
+    public int getStateCount() {
+        return fails.length;
+    }
+}
@@ -0,0 +1,26 @@
+package com.starlwr.bot.core.util;
+
+import com.starlwr.bot.core.event.StarBotExternalBaseEvent;
+import com.starlwr.bot.core.event.live.base.StarBotLiveInteractionEvent;
+import com.starlwr.bot.core.event.live.base.StarBotLiveOperationEvent;
+import com.starlwr.bot.core.model.UserInfo;
+
+/**
+ * 事件工具类
+ */
+public class EventUtil {
+    /**
+     * 获取事件的观众 UID
+     * @param event 事件
+     * @return 观众 UID，事件不包含观众信息时返回 null
+     */
+    public static Long getSenderUid(StarBotExternalBaseEvent event) {
+        UserInfo sender = null;
+        if (event instanceof StarBotLiveInteractionEvent interactionEvent) {
+            sender = interactionEvent.getSender();
+        } else if (event instanceof StarBotLiveOperationEvent operationEvent) {
+            sender = operationEvent.getSender();
+        }
+        return sender != null ? sender.getUid() : null;
+    }
+}
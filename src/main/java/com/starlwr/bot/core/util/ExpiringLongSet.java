@@ -0,0 +1,133 @@
+package com.starlwr.bot.core.util;
+
+import java.util.Arrays;
+
+/**
+ * 按时间窗口过期的 long 集合，由多代开放寻址哈希表轮转组成，元素以基本类型存储，添加与查询过程不产生额外对象
+ * 当前代存在时间超过窗口或容量已满时轮转，最旧一代被整体清空，因此元素至少保留一个窗口，最多保留 generations 个窗口
+ */
+public class ExpiringLongSet {
+    /**
+     * 空槽位标记，值为该标记的元素将被映射为其它值存储
+     */
+    private static final long EMPTY = 0L;
+
+    private final long windowMillis;
+
+    private final int capacityPerGeneration;
+
+    private final int mask;
+
+    private final long[][] tables;
+
+    private final int[] sizes;
+
+    private int current;
+
+    private long currentStart;
+
+    /**
+     * @param generations 代数，至少为 2
+     * @param capacityPerGeneration 每代最大元素数量
+     * @param windowMillis 每代时间窗口，单位：毫秒
+     */
+    public ExpiringLongSet(int generations, int capacityPerGeneration, long windowMillis) {
+        if (generations < 2) {
+            throw new IllegalArgumentException("代数必须不小于 2");
+        }
+        if (capacityPerGeneration <= 0 || capacityPerGeneration > (1 << 29)) {
+            throw new IllegalArgumentException("每代元素数量必须在 1 至 2^29 之间");
+        }
+
+        // 负载因子不超过 0.5，保证线性探测的查找长度
+        int size = Integer.highestOneBit(capacityPerGeneration * 2 - 1) << 1;
+        this.windowMillis = windowMillis;
+        this.capacityPerGeneration = capacityPerGeneration;
+        this.mask = size - 1;
+        this.tables = new long[generations][size];
+        this.sizes = new int[generations];
+    }
+
+    /**
+     * 若元素不存在于任何一代中，则添加至当前代
+     * @param value 元素
+     * @param now 当前时间，单位：毫秒
+     * @return 元素是否为新添加的
+     */
+    public synchronized boolean add(long value, long now) {
+        value = normalize(value);
+        rotateIfNecessary(now);
+
+        for (int generation = 0; generation < tables.length; generation++) {
+            if (contains(tables[generation], value)) {
+                return false;
+            }
+        }
+
+        insert(tables[current], value);
+        sizes[current]++;
+        return true;
+    }
+
+    /**
+     * 判断元素是否存在于任何一代中
+     * @param value 元素
+     * @return 是否存在
+     */
+    public synchronized boolean contains(long value) {
+        value = normalize(value);
+        for (long[] table : tables) {
+            if (contains(table, value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 获取所有代中的元素总数
+     * @return 元素总数
+     */
+    public synchronized int size() {
+        return Arrays.stream(sizes).sum();
+    }
+
+    private void rotateIfNecessary(long now) {
+        if (now - currentStart < windowMillis && sizes[current] < capacityPerGeneration) {
+            return;
+        }
+
+        current = (current + 1) % tables.length;
+        Arrays.fill(tables[current], EMPTY);
+        sizes[current] = 0;
+        currentStart = now;
+    }
+
+    private boolean contains(long[] table, long value) {
+        int index = index(value);
+        while (table[index] != EMPTY) {
+            if (table[index] == value) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    private void insert(long[] table, long value) {
+        int index = index(value);
+        while (table[index] != EMPTY) {
+            index = (index + 1) & mask;
+        }
+        table[index] = value;
+    }
+
+    private int index(long value) {
+        long hash = value * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static long normalize(long value) {
+        return value == EMPTY ? 1L : value;
+    }
+}
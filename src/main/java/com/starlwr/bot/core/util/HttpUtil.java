@@ -5,7 +5,7 @@ import com.alibaba.fastjson2.JSONObject;
 import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 
@@ -22,8 +22,8 @@ import java.util.concurrent.CompletableFuture;
 @Component
 public class HttpUtil {
     @Resource
-    @Qualifier("networkThreadPool")
-    private ThreadPoolTaskExecutor executor;
+    @Qualifier("networkTaskExecutor")
+    private AsyncTaskExecutor executor;
 
     @Resource
     private WebClient webClient;
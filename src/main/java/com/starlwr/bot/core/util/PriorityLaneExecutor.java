@@ -0,0 +1,157 @@
+package com.starlwr.bot.core.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 优先级通道执行器，任务按通道排队，工作线程总是优先执行高优先级通道中的任务
+ * 工作线程数量不超过指定上限，超出时任务在通道中等待，有界通道已满时拒绝任务而不阻塞提交线程
+ * 实际执行任务的执行器不可在提交线程中执行被拒绝的任务，否则通道的排空循环可能在提交线程中运行，因此线程池必须使用 AbortPolicy 拒绝策略
+ */
+@Slf4j
+public class PriorityLaneExecutor {
+    private final Executor delegate;
+
+    private final int maxWorkers;
+
+    private final List<BlockingQueue<Runnable>> lanes;
+
+    private final AtomicInteger workers = new AtomicInteger();
+
+    /**
+     * @param delegate 实际执行任务的执行器，拒绝任务时需抛出 RejectedExecutionException，而不可在提交线程中执行任务
+     * @param maxWorkers 最大工作线程数量
+     * @param capacities 各通道容量，下标越小优先级越高，{@link Integer#MAX_VALUE} 表示不限容量
+     * @throws IllegalArgumentException 线程池未使用 AbortPolicy 拒绝策略
+     */
+    public PriorityLaneExecutor(Executor delegate, int maxWorkers, int... capacities) {
+        if (maxWorkers <= 0) {
+            throw new IllegalArgumentException("最大工作线程数量必须大于 0");
+        }
+        // 自定义的拒绝策略无法判断是否会在提交线程中执行任务，因此仅接受 AbortPolicy
+        if (delegate instanceof ThreadPoolExecutor pool && !(pool.getRejectedExecutionHandler() instanceof ThreadPoolExecutor.AbortPolicy)) {
+            throw new IllegalArgumentException("优先级通道执行器的线程池必须使用 AbortPolicy 拒绝策略, 当前为: " + pool.getRejectedExecutionHandler().getClass().getName());
+        }
+
+        List<BlockingQueue<Runnable>> queues = new ArrayList<>(capacities.length);
+        for (int capacity : capacities) {
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("通道容量必须大于 0");
+            }
+            queues.add(new LinkedBlockingQueue<>(capacity));
+        }
+
+        this.delegate = delegate;
+        this.maxWorkers = maxWorkers;
+        this.lanes = List.copyOf(queues);
+    }
+
+    /**
+     * 创建优先级通道专用的工作线程池，线程数量与工作线程上限一致，空闲线程将被回收，拒绝任务时抛出异常
+     * 由于工作线程数量已受上限约束，线程池队列中至多有 maxWorkers 个待启动的排空任务，仅在线程池关闭后拒绝任务
+     * @param maxWorkers 最大工作线程数量
+     * @param threadNamePrefix 线程名称前缀
+     * @return 线程池
+     */
+    public static ThreadPoolExecutor newWorkerPool(int maxWorkers, String threadNamePrefix) {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(maxWorkers, maxWorkers, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                new CustomizableThreadFactory(threadNamePrefix), new ThreadPoolExecutor.AbortPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * 提交任务
+     * @param lane 通道序号
+     * @param task 任务
+     * @return 是否提交成功，有界通道已满时返回 false，不限容量的通道总是返回 true
+     */
+    public boolean execute(int lane, Runnable task) {
+        if (!lanes.get(lane).offer(task)) {
+            return false;
+        }
+
+        if (tryAcquireWorker()) {
+            try {
+                delegate.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                workers.decrementAndGet();
+                log.warn("优先级通道执行器启动工作线程失败, 任务将由运行中的工作线程执行: {}", e.getMessage());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 获取指定通道当前排队中的任务数量
+     * @param lane 通道序号
+     * @return 排队中的任务数量
+     */
+    public int getQueueSize(int lane) {
+        return lanes.get(lane).size();
+    }
+
+    /**
+     * 获取当前工作线程数量
+     * @return 工作线程数量
+     */
+    public int getWorkerCount() {
+        return workers.get();
+    }
+
+    private boolean tryAcquireWorker() {
+        while (true) {
+            int current = workers.get();
+            if (current >= maxWorkers) {
+                return false;
+            }
+            if (workers.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private Runnable poll() {
+        for (BlockingQueue<Runnable> lane : lanes) {
+            Runnable task = lane.poll();
+            if (task != null) {
+                return task;
+            }
+        }
+        return null;
+    }
+
+    private boolean hasPending() {
+        for (BlockingQueue<Runnable> lane : lanes) {
+            if (!lane.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void drain() {
+        while (true) {
+            Runnable task = poll();
+            if (task == null) {
+                workers.decrementAndGet();
+                // 释放工作线程后再次检查，避免与提交线程竞争时遗留未执行的任务
+                if (!hasPending() || !tryAcquireWorker()) {
+                    return;
+                }
+                continue;
+            }
+
+            try {
+                task.run();
+            } catch (Throwable e) {
+                log.error("优先级通道任务执行异常", e);
+            }
+        }
+    }
+}
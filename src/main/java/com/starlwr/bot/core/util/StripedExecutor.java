@@ -0,0 +1,220 @@
+package com.starlwr.bot.core.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 分条执行器，相同键的任务始终由同一个单线程分条按提交顺序执行，不同键的任务分散至各分条并行执行
+ * 分条任务队列已满时提交线程最多等待指定时间，以保证同一分条内的执行顺序，超时后丢弃任务并记录，避免发布事件的线程被无限期阻塞
+ */
+@Slf4j
+public class StripedExecutor {
+    private final Stripe[] stripes;
+
+    /**
+     * @param stripeCount 分条数量
+     * @param queueCapacity 每个分条的任务队列容量
+     * @param threadNamePrefix 线程名称前缀
+     */
+    public StripedExecutor(int stripeCount, int queueCapacity, String threadNamePrefix) {
+        this(stripeCount, queueCapacity, 1000, threadNamePrefix);
+    }
+
+    /**
+     * @param stripeCount 分条数量
+     * @param queueCapacity 每个分条的任务队列容量
+     * @param offerTimeoutMillis 分条任务队列已满时提交线程的最长等待时间，单位：毫秒
+     * @param threadNamePrefix 线程名称前缀
+     */
+    public StripedExecutor(int stripeCount, int queueCapacity, long offerTimeoutMillis, String threadNamePrefix) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("分条数量必须大于 0");
+        }
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(threadNamePrefix);
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            this.stripes[i] = new Stripe(i, queueCapacity, Math.max(0, offerTimeoutMillis), threadFactory);
+        }
+    }
+
+    /**
+     * 提交任务
+     * @param key 分条键的哈希值，相同哈希值的任务按提交顺序执行
+     * @param task 任务
+     * @return 是否提交成功，分条任务队列在等待时间内仍无空位时返回 false
+     * @throws RejectedExecutionException 执行器已关闭
+     */
+    public boolean execute(int key, Runnable task) {
+        return stripes[stripeOf(key)].execute(task);
+    }
+
+    /**
+     * 获取分条键所属的分条序号
+     * @param key 分条键的哈希值
+     * @return 分条序号
+     */
+    public int stripeOf(int key) {
+        int h = key ^ (key >>> 16);
+        return Math.floorMod(h, stripes.length);
+    }
+
+    /**
+     * 获取分条数量
+     * @return 分条数量
+     */
+    public int getStripeCount() {
+        return stripes.length;
+    }
+
+    /**
+     * 获取指定分条当前排队中的任务数量
+     * @param stripe 分条序号
+     * @return 排队中的任务数量
+     */
+    public int getQueueSize(int stripe) {
+        return stripes[stripe].executor.getQueue().size();
+    }
+
+    /**
+     * 获取各分条的运行指标
+     * @return 运行指标列表
+     */
+    public List<StripeMetrics> getMetrics() {
+        List<StripeMetrics> metrics = new ArrayList<>(stripes.length);
+        for (Stripe stripe : stripes) {
+            metrics.add(new StripeMetrics(
+                    stripe.index,
+                    stripe.executor.getQueue().size(),
+                    stripe.peakQueueSize.get(),
+                    stripe.executor.getCompletedTaskCount(),
+                    stripe.blocked.sum(),
+                    stripe.dropped.sum()
+            ));
+        }
+        return metrics;
+    }
+
+    /**
+     * 关闭执行器，已提交的任务会继续执行完毕
+     */
+    public void shutdown() {
+        for (Stripe stripe : stripes) {
+            stripe.executor.shutdown();
+        }
+    }
+
+    /**
+     * 分条运行指标
+     */
+    @Getter
+    @ToString
+    @AllArgsConstructor
+    public static class StripeMetrics {
+        /**
+         * 分条序号
+         */
+        private final int stripe;
+
+        /**
+         * 当前排队中的任务数量
+         */
+        private final int queueSize;
+
+        /**
+         * 排队任务数量峰值
+         */
+        private final int peakQueueSize;
+
+        /**
+         * 已完成的任务数量
+         */
+        private final long completedTaskCount;
+
+        /**
+         * 因队列已满而等待提交的任务数量
+         */
+        private final long blockedTaskCount;
+
+        /**
+         * 等待超时后被丢弃的任务数量
+         */
+        private final long droppedTaskCount;
+    }
+
+    private static class Stripe {
+        private final int index;
+
+        private final ThreadPoolExecutor executor;
+
+        private final AtomicInteger peakQueueSize = new AtomicInteger();
+
+        private final LongAdder blocked = new LongAdder();
+
+        private final LongAdder dropped = new LongAdder();
+
+        private Stripe(int index, int queueCapacity, long offerTimeoutMillis, ThreadFactory threadFactory) {
+            this.index = index;
+            this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(queueCapacity), threadFactory, (r, e) -> {
+                if (e.isShutdown()) {
+                    throw new RejectedExecutionException("分条执行器已关闭");
+                }
+
+                // 队列已满时提交线程等待队列空位，由提交线程直接执行会破坏同一分条内的执行顺序，等待超时后丢弃任务
+                blocked.increment();
+                try {
+                    if (e.getQueue().offer(r, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                        return;
+                    }
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new QueueFullException();
+            });
+            this.executor.prestartCoreThread();
+        }
+
+        private boolean execute(Runnable task) {
+            try {
+                executor.execute(task);
+            } catch (QueueFullException e) {
+                long count = dropped.sum() + 1;
+                dropped.increment();
+                if (count % 1000 == 1) {
+                    log.warn("事件处理分条 {} 任务队列已满, 已累计丢弃 {} 个任务, 请考虑增加分条数量或队列容量!", index, count);
+                }
+                return false;
+            }
+
+            int size = executor.getQueue().size();
+            int peak = peakQueueSize.get();
+            while (size > peak && !peakQueueSize.compareAndSet(peak, size)) {
+                peak = peakQueueSize.get();
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 分条任务队列在等待时间内仍无空位
+     */
+    private static class QueueFullException extends RejectedExecutionException {
+        private QueueFullException() {
+            super("分条任务队列已满");
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.starlwr.bot.core.benchmark;
+
+import com.starlwr.bot.core.enums.LivePlatform;
+import com.starlwr.bot.core.event.live.common.DanmuEvent;
+import com.starlwr.bot.core.event.live.common.PaidGiftEvent;
+import com.starlwr.bot.core.event.live.common.RandomGiftEvent;
+import com.starlwr.bot.core.model.GiftInfo;
+import com.starlwr.bot.core.model.LiveStreamerInfo;
+import com.starlwr.bot.core.model.UserInfo;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 事件创建开销基准测试，配合 -prof gc 运行，通过 gc.alloc.rate.norm 观察创建单个事件的内存分配量
+ * <p>
+ * mvn -P benchmark test-compile exec:exec -Dbenchmark="StarBotEventAllocationBenchmark -prof gc"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StarBotEventAllocationBenchmark {
+    private final String platform = LivePlatform.BILIBILI.getName();
+
+    private final LiveStreamerInfo streamer = new LiveStreamerInfo(1001L, "主播", 2002L);
+
+    private final UserInfo sender = new UserInfo(3003L, "观众");
+
+    private final GiftInfo gift = new GiftInfo(1L, "小花花", 0.1, 10, null);
+
+    private final GiftInfo randomGift = new GiftInfo(2L, "盲盒", 1.5, 1, null);
+
+    private final Instant instant = Instant.ofEpochMilli(1700000000000L);
+
+    private long timestamp = 1700000000000L;
+
+    @Benchmark
+    public DanmuEvent danmu() {
+        return new DanmuEvent(platform, streamer, sender, "弹幕", "弹幕");
+    }
+
+    /**
+     * 总价值在首次获取时计算，仅创建事件时不进行 BigDecimal 运算
+     */
+    @Benchmark
+    public PaidGiftEvent paidGift() {
+        return new PaidGiftEvent(platform, streamer, sender, gift);
+    }
+
+    @Benchmark
+    public Double paidGiftValue() {
+        return new PaidGiftEvent(platform, streamer, sender, gift).getValue();
+    }
+
+    @Benchmark
+    public RandomGiftEvent randomGift() {
+        return new RandomGiftEvent(platform, streamer, sender, randomGift, gift);
+    }
+
+    @Benchmark
+    public Double randomGiftProfit() {
+        return new RandomGiftEvent(platform, streamer, sender, randomGift, gift).getProfit();
+    }
+
+    /**
+     * 同一毫秒内的事件共享时钟
+     */
+    @Benchmark
+    public PaidGiftEvent paidGiftAtSameTime() {
+        return new PaidGiftEvent(platform, streamer, sender, gift, instant);
+    }
+
+    /**
+     * 每个事件的时间均不同，每次均需创建时钟
+     */
+    @Benchmark
+    public PaidGiftEvent paidGiftAtDistinctTimes() {
+        return new PaidGiftEvent(platform, streamer, sender, gift, Instant.ofEpochMilli(timestamp++));
+    }
+}
@@ -0,0 +1,130 @@
+package com.starlwr.bot.core.benchmark;
+
+import com.starlwr.bot.core.config.StarBotCoreProperties;
+import com.starlwr.bot.core.dispatcher.StarBotEventBus;
+import com.starlwr.bot.core.dispatcher.StarBotEventDispatcher;
+import com.starlwr.bot.core.dispatcher.StarBotRedisStreamTransport;
+import com.starlwr.bot.core.enums.LivePlatform;
+import com.starlwr.bot.core.event.StarBotExternalBaseEvent;
+import com.starlwr.bot.core.event.live.common.DanmuEvent;
+import com.starlwr.bot.core.model.LiveStreamerInfo;
+import com.starlwr.bot.core.model.UserInfo;
+import com.starlwr.bot.core.record.StarBotEventRecorder;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.SimpleApplicationEventMulticaster;
+import org.springframework.context.support.AbstractApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 外部事件发布吞吐量基准测试，比较经由环形缓冲区事件总线与经由 Spring 异步事件广播将事件交给事件分发器的吞吐量
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StarBotEventBusBenchmark {
+    private static final int BATCH = 1024;
+
+    private static final int ROOMS = 16;
+
+    @Param({"1", "4"})
+    private int consumers;
+
+    private final AtomicLong handled = new AtomicLong();
+
+    private StarBotExternalBaseEvent[] events;
+
+    private StarBotEventBus bus;
+
+    private GenericApplicationContext context;
+
+    private ThreadPoolTaskExecutor executor;
+
+    @Setup
+    public void setUp() {
+        events = new StarBotExternalBaseEvent[ROOMS];
+        for (int i = 0; i < ROOMS; i++) {
+            LiveStreamerInfo streamer = new LiveStreamerInfo(i + 1L, "主播", 1000L + i);
+            events[i] = new DanmuEvent(LivePlatform.BILIBILI.getName(), streamer, new UserInfo(1L, "观众"), "弹幕", "弹幕");
+        }
+
+        StarBotEventDispatcher dispatcher = new StarBotEventDispatcher() {
+            @Override
+            public void dispatch(StarBotExternalBaseEvent event) {
+                handled.incrementAndGet();
+            }
+        };
+
+        // 基线: 经由 Spring 事件广播，监听器由线程池异步执行，与使用 @Async 监听外部事件相同
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(consumers);
+        executor.setMaxPoolSize(consumers);
+        executor.initialize();
+        SimpleApplicationEventMulticaster multicaster = new SimpleApplicationEventMulticaster();
+        multicaster.setTaskExecutor(executor);
+        context = new GenericApplicationContext();
+        context.getBeanFactory().registerSingleton(AbstractApplicationContext.APPLICATION_EVENT_MULTICASTER_BEAN_NAME, multicaster);
+        context.addApplicationListener((ApplicationListener<ApplicationEvent>) event -> {
+            if (event instanceof StarBotExternalBaseEvent external) {
+                dispatcher.dispatch(external);
+            }
+        });
+        context.refresh();
+
+        StarBotCoreProperties properties = new StarBotCoreProperties();
+        properties.getEventBus().setEnabled(true);
+        properties.getEventBus().setConsumers(consumers);
+        properties.getEventBus().setBridge(false);
+
+        bus = new StarBotEventBus();
+        ReflectionTestUtils.setField(bus, "properties", properties);
+        ReflectionTestUtils.setField(bus, "eventPublisher", context);
+        ReflectionTestUtils.setField(bus, "dispatcher", dispatcher);
+        ReflectionTestUtils.setField(bus, "transportProvider", new StaticListableBeanFactory().getBeanProvider(StarBotRedisStreamTransport.class));
+        ReflectionTestUtils.setField(bus, "recorder", new StarBotEventRecorder());
+        bus.init();
+    }
+
+    @TearDown
+    public void tearDown() {
+        bus.destroy();
+        context.close();
+        executor.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void eventBus() {
+        long target = handled.get() + BATCH;
+        for (int i = 0; i < BATCH; i++) {
+            bus.publish(events[i & (ROOMS - 1)]);
+        }
+        await(target);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void applicationEventPublisher() {
+        long target = handled.get() + BATCH;
+        for (int i = 0; i < BATCH; i++) {
+            context.publishEvent(events[i & (ROOMS - 1)]);
+        }
+        await(target);
+    }
+
+    private void await(long target) {
+        while (handled.get() < target) {
+            Thread.onSpinWait();
+        }
+    }
+}
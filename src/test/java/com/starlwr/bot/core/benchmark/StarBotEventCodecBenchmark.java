@@ -0,0 +1,86 @@
+package com.starlwr.bot.core.benchmark;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONB;
+import com.starlwr.bot.core.codec.StarBotEventCodec;
+import com.starlwr.bot.core.enums.LivePlatform;
+import com.starlwr.bot.core.event.StarBotExternalBaseEvent;
+import com.starlwr.bot.core.event.live.common.DanmuEvent;
+import com.starlwr.bot.core.event.live.common.PaidGiftEvent;
+import com.starlwr.bot.core.model.GiftInfo;
+import com.starlwr.bot.core.model.LiveStreamerInfo;
+import com.starlwr.bot.core.model.UserInfo;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 事件编解码基准测试，比较事件二进制编解码器与 fastjson2 JSON、JSONB 格式的编解码吞吐量
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StarBotEventCodecBenchmark {
+    @Param({"danmu", "gift"})
+    private String type;
+
+    private StarBotExternalBaseEvent event;
+
+    private Class<? extends StarBotExternalBaseEvent> eventClass;
+
+    private byte[] codecBytes;
+
+    private byte[] jsonBytes;
+
+    private byte[] jsonbBytes;
+
+    @Setup
+    public void setUp() {
+        LiveStreamerInfo streamer = new LiveStreamerInfo(1001L, "主播", 2002L, "https://example.com/face.png");
+        UserInfo sender = new UserInfo(3003L, "观众", "https://example.com/sender.png");
+        String platform = LivePlatform.BILIBILI.getName();
+        if ("gift".equals(type)) {
+            event = new PaidGiftEvent(platform, streamer, sender, new GiftInfo(1L, "小花花", 0.1, 10, "https://example.com/gift.png"), 1.0);
+        } else {
+            event = new DanmuEvent(platform, streamer, sender, "[doge]今天的直播好有意思", "今天的直播好有意思");
+        }
+        eventClass = event.getClass();
+
+        codecBytes = StarBotEventCodec.encode(event);
+        jsonBytes = JSON.toJSONBytes(event);
+        jsonbBytes = JSONB.toBytes(event);
+    }
+
+    @Benchmark
+    public byte[] encodeCodec() {
+        return StarBotEventCodec.encode(event);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() {
+        return JSON.toJSONBytes(event);
+    }
+
+    @Benchmark
+    public byte[] encodeJsonb() {
+        return JSONB.toBytes(event);
+    }
+
+    @Benchmark
+    public StarBotExternalBaseEvent decodeCodec() {
+        return StarBotEventCodec.decode(codecBytes);
+    }
+
+    @Benchmark
+    public StarBotExternalBaseEvent decodeJson() {
+        return JSON.parseObject(jsonBytes, eventClass);
+    }
+
+    @Benchmark
+    public StarBotExternalBaseEvent decodeJsonb() {
+        return JSONB.parseObject(jsonbBytes, eventClass);
+    }
+}
@@ -0,0 +1,49 @@
+package com.starlwr.bot.core.codec;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryReaderTest {
+    @Test
+    void roundTripPrimitives() {
+        BinaryWriter writer = new BinaryWriter();
+        writer.writeByte(0xAB);
+        writer.writeUnsignedVarLong(Long.MAX_VALUE);
+        writer.writeVarLong(Long.MIN_VALUE);
+        writer.writeVarInt(-1);
+        writer.writeDouble(3.14);
+        writer.writeString("直播间");
+        writer.writeByteArray(new byte[]{1, 2, 3});
+
+        BinaryReader reader = new BinaryReader(writer.toByteArray());
+        assertEquals(0xAB, reader.readByte());
+        assertEquals(Long.MAX_VALUE, reader.readUnsignedVarLong());
+        assertEquals(Long.MIN_VALUE, reader.readVarLong());
+        assertEquals(-1, reader.readVarInt());
+        assertEquals(3.14, reader.readDouble());
+        assertEquals("直播间", reader.readString());
+        assertArrayEquals(new byte[]{1, 2, 3}, reader.readByteArray());
+        assertFalse(reader.hasRemaining());
+    }
+
+    @Test
+    void rejectsLengthBeyondLimitWithoutOverflow() {
+        BinaryWriter writer = new BinaryWriter();
+        writer.writeUnsignedVarLong(Integer.MAX_VALUE);
+        writer.writeByte(0);
+
+        BinaryReader reader = new BinaryReader(writer.toByteArray());
+        assertThrows(IllegalArgumentException.class, reader::readByteArray);
+    }
+
+    @Test
+    void respectsOffsetAndLength() {
+        byte[] buffer = {9, 1, 2, 9};
+        BinaryReader reader = new BinaryReader(buffer, 1, 2);
+
+        assertEquals(1, reader.readByte());
+        assertEquals(2, reader.readByte());
+        assertThrows(IllegalArgumentException.class, reader::readByte);
+    }
+}
@@ -0,0 +1,172 @@
+package com.starlwr.bot.core.codec;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONB;
+import com.starlwr.bot.core.enums.LivePlatform;
+import com.starlwr.bot.core.event.StarBotExternalBaseEvent;
+import com.starlwr.bot.core.event.live.common.*;
+import com.starlwr.bot.core.model.EmojiInfo;
+import com.starlwr.bot.core.model.GiftInfo;
+import com.starlwr.bot.core.model.LiveStreamerInfo;
+import com.starlwr.bot.core.model.UserInfo;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.time.Instant;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StarBotEventCodecTest {
+    private static final Instant INSTANT = Instant.ofEpochMilli(1700000000123L);
+
+    private static final LiveStreamerInfo STREAMER = new LiveStreamerInfo(1001L, "主播", 2002L, "https://example.com/face.png");
+
+    private static final UserInfo SENDER = new UserInfo(3003L, "观众", "https://example.com/sender.png");
+
+    private static GiftInfo gift() {
+        return new GiftInfo(1L, "小心心", 0.1, 5, "https://example.com/gift.png");
+    }
+
+    /**
+     * 每个内置类型 ID 对应一个字段完整的事件
+     */
+    static Stream<StarBotExternalBaseEvent> builtinEvents() {
+        String platform = LivePlatform.BILIBILI.getName();
+        return Stream.of(
+                new ConnectedEvent(platform, STREAMER, INSTANT),
+                new DisconnectedEvent(platform, STREAMER, INSTANT),
+                new LiveOnEvent(platform, STREAMER, INSTANT),
+                new LiveOffEvent(platform, STREAMER, INSTANT),
+                new DanmuEvent(platform, STREAMER, SENDER, "[doge]你好", "你好", INSTANT),
+                new EmojiEvent(platform, STREAMER, SENDER, new EmojiInfo("e1", "doge", "https://example.com/doge.png"), INSTANT),
+                new LikeEvent(platform, STREAMER, SENDER, INSTANT),
+                new LikeUpdateEvent(platform, STREAMER, 12345, INSTANT),
+                new EnterRoomEvent(platform, STREAMER, SENDER, INSTANT),
+                new FollowEvent(platform, STREAMER, SENDER, INSTANT),
+                new ShareEvent(platform, STREAMER, SENDER, INSTANT),
+                new FreeGiftEvent(platform, STREAMER, SENDER, gift(), INSTANT),
+                new PaidGiftEvent(platform, STREAMER, SENDER, gift(), 30.0, INSTANT),
+                new RandomGiftEvent(platform, STREAMER, SENDER, new GiftInfo(2L, "盲盒", 15.0, 2, null), gift(), 30.0, 25.0, INSTANT),
+                new MembershipEvent(platform, STREAMER, SENDER, 138.0, 1, "月", INSTANT),
+                new SuperChatEvent(platform, STREAMER, SENDER, "醒目留言", 30.0, INSTANT)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("builtinEvents")
+    void roundTripBuiltinEvent(StarBotExternalBaseEvent event) {
+        assertRoundTrip(event);
+    }
+
+    @Test
+    void builtinEventsCoverAllTypeIds() {
+        long count = builtinEvents().map(StarBotEventCodecTest::typeId).distinct().filter(id -> id != 0).count();
+        assertEquals(16, count);
+    }
+
+    @Test
+    void roundTripCustomPlatformAndNullFields() {
+        assertRoundTrip(new DanmuEvent("自定义平台", new LiveStreamerInfo(1L, null, null), new UserInfo(2L, null), null, INSTANT));
+    }
+
+    @Test
+    void roundTripUnregisteredEventWithJsonbFallback() {
+        CustomEvent event = new CustomEvent(LivePlatform.BILIBILI.getName(), STREAMER, "自定义内容", INSTANT);
+        byte[] bytes = StarBotEventCodec.encode(event);
+
+        assertEquals(0, typeId(event));
+        StarBotExternalBaseEvent decoded = StarBotEventCodec.decode(bytes);
+        assertInstanceOf(CustomEvent.class, decoded);
+        assertEquals("自定义内容", ((CustomEvent) decoded).getPayload());
+        assertEquals(event.getPlatform(), decoded.getPlatform());
+        assertEquals(JSON.toJSONString(event.getSource()), JSON.toJSONString(decoded.getSource()));
+    }
+
+    @Test
+    void decodeJsonbKeepsTimestampOfRegisteredEvent() {
+        PaidGiftEvent event = new PaidGiftEvent(LivePlatform.BILIBILI.getName(), STREAMER, SENDER, new GiftInfo(1L, "礼物", 1.5, 3, null), INSTANT);
+        StarBotExternalBaseEvent decoded = StarBotEventCodec.decodeJsonb(PaidGiftEvent.class.getName(), event.getTimestamp(), JSONB.toBytes(event));
+
+        assertEquals(event.getTimestamp(), decoded.getTimestamp());
+        assertEquals(JSON.toJSONString(event), JSON.toJSONString(decoded));
+    }
+
+    @Test
+    void immutableStreamerDeserializesFromJsonAndJsonb() {
+        DanmuEvent event = new DanmuEvent(LivePlatform.BILIBILI.getName(), STREAMER, SENDER, "内容", INSTANT);
+
+        LiveStreamerInfo fromJson = JSON.parseObject(JSON.toJSONString(event), DanmuEvent.class).getSource();
+        LiveStreamerInfo fromJsonb = JSONB.parseObject(JSONB.toBytes(event), DanmuEvent.class).getSource();
+
+        for (LiveStreamerInfo streamer : new LiveStreamerInfo[]{fromJson, fromJsonb}) {
+            assertEquals(STREAMER.getUid(), streamer.getUid());
+            assertEquals(STREAMER.getUname(), streamer.getUname());
+            assertEquals(STREAMER.getRoomId(), streamer.getRoomId());
+            assertEquals(STREAMER.getFace(), streamer.getFace());
+        }
+    }
+
+    @Test
+    void decodeJsonbRejectsNonEventType() {
+        assertThrows(IllegalArgumentException.class, () -> StarBotEventCodec.decodeJsonb(String.class.getName(), 0, new byte[0]));
+    }
+
+    @Test
+    void decodeRejectsTruncatedData() {
+        byte[] bytes = StarBotEventCodec.encode(new DanmuEvent(LivePlatform.BILIBILI.getName(), STREAMER, SENDER, "内容", INSTANT));
+        byte[] truncated = new byte[bytes.length - 1];
+        System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+
+        assertThrows(IllegalArgumentException.class, () -> StarBotEventCodec.decode(truncated));
+    }
+
+    @Test
+    void builtinPlatformsUseFixedIds() {
+        // 直播平台 ID 已写入事件日志，修改会导致已录制的事件无法解码
+        LivePlatform[] platforms = {LivePlatform.BILIBILI, LivePlatform.DOU_YIN, LivePlatform.KUAI_SHOU, LivePlatform.DOU_YU, LivePlatform.HU_YA, LivePlatform.XIAO_HONG_SHU, LivePlatform.CC, LivePlatform.YY};
+        assertEquals(LivePlatform.values().length, platforms.length, "新增的直播平台需分配编码 ID");
+        for (int i = 0; i < platforms.length; i++) {
+            BinaryWriter writer = new BinaryWriter();
+            StarBotEventCodec.writePlatform(writer, platforms[i].getName());
+            assertArrayEquals(new byte[]{(byte) (i + 1)}, writer.toByteArray(), platforms[i].name());
+            assertEquals(platforms[i].getName(), StarBotEventCodec.readPlatform(new BinaryReader(writer.toByteArray())));
+        }
+    }
+
+    @Test
+    void readPlatformRejectsUnknownId() {
+        assertThrows(IllegalArgumentException.class, () -> StarBotEventCodec.readPlatform(new BinaryReader(new byte[]{(byte) 100})));
+    }
+
+    private static void assertRoundTrip(StarBotExternalBaseEvent event) {
+        StarBotExternalBaseEvent decoded = StarBotEventCodec.decode(StarBotEventCodec.encode(event));
+
+        assertSame(event.getClass(), decoded.getClass());
+        assertEquals(event.getTimestamp(), decoded.getTimestamp());
+        assertEquals(JSON.toJSONString(event), JSON.toJSONString(decoded));
+    }
+
+    private static int typeId(StarBotExternalBaseEvent event) {
+        return (int) new BinaryReader(StarBotEventCodec.encode(event)).readUnsignedVarLong();
+    }
+
+    /**
+     * 未注册编码器的事件类型，使用 JSONB 格式编码
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class CustomEvent extends StarBotExternalBaseEvent {
+        private String payload;
+
+        public CustomEvent(String platform, LiveStreamerInfo source, String payload, Instant instant) {
+            super(platform, source, instant);
+            this.payload = payload;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.starlwr.bot.core.datasource;
+
+import com.starlwr.bot.core.model.PushUser;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 推送用户查询基准测试，比较数据源快照的基本类型 UID 索引与以直播平台名称、装箱 UID 为键的嵌套 HashMap 的查询耗时
+ * 数据源快照为包内可见，因此基准测试位于数据源所在的包中，配合 -prof gc 运行可观察查询过程的内存分配量
+ * <p>
+ * mvn -P benchmark test-compile exec:exec -Dbenchmark="DataSourceSnapshotBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class DataSourceSnapshotBenchmark {
+    private static final String[] PLATFORMS = {"bilibili", "抖音", "快手"};
+
+    private static final int LOOKUPS = 1 << 16;
+
+    @Param({"10000", "100000", "1000000"})
+    private int users;
+
+    private DataSourceSnapshot snapshot;
+
+    private Map<String, Map<Long, PushUser>> userMap;
+
+    private String[] platforms;
+
+    private int[] platformIds;
+
+    private long[] uids;
+
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<PushUser> list = new ArrayList<>(users);
+        userMap = new HashMap<>();
+        for (int i = 0; i < users; i++) {
+            PushUser user = new PushUser();
+            user.setPlatform(PLATFORMS[i % PLATFORMS.length]);
+            // UID 分散分布，避免连续 UID 使哈希分布过于理想
+            user.setUid(random.nextLong() & Long.MAX_VALUE);
+            user.setUname("主播" + i);
+            user.setRoomId((long) i);
+            list.add(user);
+            userMap.computeIfAbsent(user.getPlatform(), k -> new HashMap<>()).put(user.getUid(), user);
+        }
+        snapshot = DataSourceSnapshot.EMPTY.withChanges(list, List.of(), List.of());
+
+        platforms = new String[LOOKUPS];
+        platformIds = new int[LOOKUPS];
+        uids = new long[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            PushUser user = list.get(random.nextInt(users));
+            platforms[i] = user.getPlatform();
+            platformIds[i] = snapshot.findPlatformId(user.getPlatform());
+            uids[i] = user.getUid();
+        }
+    }
+
+    @Benchmark
+    public PushUser snapshotByPlatformId() {
+        int i = cursor++ & (LOOKUPS - 1);
+        return snapshot.getUser(platformIds[i], uids[i]);
+    }
+
+    @Benchmark
+    public PushUser snapshotByPlatformName() {
+        int i = cursor++ & (LOOKUPS - 1);
+        return snapshot.getUser(snapshot.findPlatformId(platforms[i]), uids[i]);
+    }
+
+    @Benchmark
+    public PushUser hashMap() {
+        int i = cursor++ & (LOOKUPS - 1);
+        Map<Long, PushUser> map = userMap.get(platforms[i]);
+        return map != null ? map.get(uids[i]) : null;
+    }
+}
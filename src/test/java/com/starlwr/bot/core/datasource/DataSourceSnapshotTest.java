@@ -0,0 +1,45 @@
+package com.starlwr.bot.core.datasource;
+
+import com.starlwr.bot.core.model.PushUser;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DataSourceSnapshotTest {
+    @Test
+    void platformIdsAreIndependentPerDataSource() {
+        DataSourceSnapshot first = DataSourceSnapshot.EMPTY.withChanges(List.of(user("抖音", 1L), user("bilibili", 2L)), List.of(), List.of());
+        DataSourceSnapshot second = DataSourceSnapshot.EMPTY.withChanges(List.of(user("bilibili", 3L)), List.of(), List.of());
+
+        assertEquals(0, first.findPlatformId("抖音"));
+        assertEquals(1, first.findPlatformId("bilibili"));
+        assertEquals(0, second.findPlatformId("bilibili"));
+        assertEquals(-1, second.findPlatformId("抖音"));
+        assertEquals(-1, DataSourceSnapshot.EMPTY.findPlatformId("bilibili"));
+    }
+
+    @Test
+    void platformIdsStayStableAcrossChanges() {
+        PushUser douyin = user("抖音", 1L);
+        DataSourceSnapshot snapshot = DataSourceSnapshot.EMPTY.withChanges(List.of(douyin), List.of(), List.of());
+        snapshot = snapshot.withChanges(List.of(), List.of(douyin), List.of());
+        snapshot = snapshot.withChanges(List.of(user("bilibili", 2L), user("抖音", 3L)), List.of(), List.of());
+
+        assertEquals(0, snapshot.findPlatformId("抖音"));
+        assertEquals(1, snapshot.findPlatformId("bilibili"));
+        assertNotNull(snapshot.getUser(0, 3L));
+        assertNotNull(snapshot.getStreamer(1, 2L));
+        assertNull(snapshot.getUser(0, 1L));
+    }
+
+    private static PushUser user(String platform, long uid) {
+        PushUser user = new PushUser();
+        user.setPlatform(platform);
+        user.setUid(uid);
+        user.setUname("主播" + uid);
+        user.setRoomId(uid * 100);
+        return user;
+    }
+}
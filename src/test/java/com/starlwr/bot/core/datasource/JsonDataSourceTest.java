@@ -0,0 +1,47 @@
+package com.starlwr.bot.core.datasource;
+
+import com.starlwr.bot.core.model.PushMessage;
+import com.starlwr.bot.core.model.PushTarget;
+import com.starlwr.bot.core.model.PushUser;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonDataSourceTest {
+    @Test
+    void contentHashIgnoresKeyOrderOfParams() {
+        assertEquals(contentHash("{\"a\": 1, \"b\": 2}"), contentHash("{\"b\": 2, \"a\": 1}"));
+        assertNotEquals(contentHash("{\"a\": 1}"), contentHash("{\"a\": 2}"));
+    }
+
+    @Test
+    void contentHashUsesRawContentOfMalformedParams() {
+        // 参数格式错误时不应导致整个数据源加载失败，修改错误的参数仍视为推送配置变化
+        long hash = assertDoesNotThrow(() -> contentHash("{\"a\": "));
+        assertNotEquals(hash, contentHash("{\"a\": 1"));
+        assertEquals(hash, contentHash("{\"a\": "));
+    }
+
+    private static long contentHash(String params) {
+        PushMessage message = new PushMessage();
+        message.setEvent("DanmuEvent");
+        message.setHandler("handler");
+        message.setParams(params);
+        message.setEnabled(true);
+
+        PushTarget target = new PushTarget();
+        target.setPlatform("QQ");
+        target.setNum(1L);
+        target.setEnabled(true);
+        target.getMessages().add(message);
+
+        PushUser user = new PushUser();
+        user.setEnabled(true);
+        user.getTargets().add(target);
+
+        Long hash = ReflectionTestUtils.invokeMethod(JsonDataSource.class, "computeContentHash", user);
+        assertNotNull(hash);
+        return hash;
+    }
+}
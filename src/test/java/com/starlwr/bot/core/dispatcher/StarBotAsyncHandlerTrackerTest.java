@@ -0,0 +1,78 @@
+package com.starlwr.bot.core.dispatcher;
+
+import com.alibaba.fastjson2.JSONObject;
+import com.starlwr.bot.core.enums.LivePlatform;
+import com.starlwr.bot.core.event.StarBotExternalBaseEvent;
+import com.starlwr.bot.core.event.live.common.LikeEvent;
+import com.starlwr.bot.core.handler.StarBotAsyncEventHandler;
+import com.starlwr.bot.core.model.LiveStreamerInfo;
+import com.starlwr.bot.core.model.PushMessage;
+import com.starlwr.bot.core.model.UserInfo;
+import org.junit.jupiter.api.Test;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StarBotAsyncHandlerTrackerTest {
+    private static final StarBotExternalBaseEvent EVENT = new LikeEvent(LivePlatform.BILIBILI.getName(), new LiveStreamerInfo(1L, "主播", 100L), new UserInfo(2L, "观众"));
+
+    private final Queue<CompletableFuture<Void>> futures = new ConcurrentLinkedQueue<>();
+
+    private final StarBotAsyncEventHandler handler = new StarBotAsyncEventHandler() {
+        @Override
+        public CompletableFuture<Void> handleAsync(StarBotExternalBaseEvent baseEvent, PushMessage pushMessage) {
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            futures.add(future);
+            return future;
+        }
+
+        @Override
+        public JSONObject getDefaultParams() {
+            return new JSONObject();
+        }
+    };
+
+    @Test
+    void dropsWithoutWaitingWhenFull() {
+        StarBotAsyncHandlerTracker tracker = new StarBotAsyncHandlerTracker(1, 60000);
+        CompletableFuture<Void> first = tracker.invoke(handler, EVENT, null);
+        assertFalse(first.isDone());
+
+        long begin = System.nanoTime();
+        CompletableFuture<Void> second = tracker.invoke(handler, EVENT, null);
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin) < 100);
+        assertTrue(second.isDone());
+        assertEquals(1, tracker.getDroppedCount());
+        assertEquals(1, futures.size());
+
+        futures.poll().complete(null);
+        assertTrue(first.isDone());
+        assertEquals(1, tracker.getCompletedCount());
+        assertEquals(0, tracker.getInFlight());
+    }
+
+    @Test
+    void keepsPermitOfTimedOutWorkUntilItFinishes() {
+        StarBotAsyncHandlerTracker tracker = new StarBotAsyncHandlerTracker(1, 50);
+        CompletableFuture<Void> done = tracker.invoke(handler, EVENT, null);
+        assertDoesNotThrow(() -> done.get(5, TimeUnit.SECONDS));
+
+        assertEquals(1, tracker.getTimeoutCount());
+        assertEquals(1, tracker.getTimedOutInFlight());
+        assertEquals(1, tracker.getInFlight());
+        assertTrue(tracker.invoke(handler, EVENT, null).isDone());
+        assertEquals(1, tracker.getDroppedCount());
+
+        futures.poll().complete(null);
+        assertEquals(0, tracker.getTimedOutInFlight());
+        assertEquals(0, tracker.getInFlight());
+        assertEquals(0, tracker.getCompletedCount());
+
+        assertFalse(tracker.invoke(handler, EVENT, null).isDone());
+        assertEquals(1, tracker.getDroppedCount());
+    }
+}
@@ -0,0 +1,119 @@
+package com.starlwr.bot.core.dispatcher;
+
+import com.starlwr.bot.core.config.StarBotCoreProperties;
+import com.starlwr.bot.core.enums.LivePlatform;
+import com.starlwr.bot.core.event.StarBotExternalBaseEvent;
+import com.starlwr.bot.core.event.live.common.DanmuEvent;
+import com.starlwr.bot.core.model.LiveStreamerInfo;
+import com.starlwr.bot.core.model.UserInfo;
+import com.starlwr.bot.core.record.StarBotEventRecorder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class StarBotEventBusTest {
+    private final StarBotCoreProperties properties = new StarBotCoreProperties();
+
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+
+    private final StarBotEventDispatcher dispatcher = mock(StarBotEventDispatcher.class);
+
+    private final BlockingQueue<StarBotExternalBaseEvent> dispatched = new LinkedBlockingQueue<>();
+
+    private StarBotEventBus bus;
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(invocation -> dispatched.add(invocation.getArgument(0))).when(dispatcher).dispatch(any(StarBotExternalBaseEvent.class));
+
+        properties.getEventBus().setEnabled(true);
+        properties.getEventBus().setConsumers(1);
+        properties.getEventBus().setBufferSize(4);
+        properties.getEventBus().setBridge(false);
+
+        bus = new StarBotEventBus();
+        ReflectionTestUtils.setField(bus, "properties", properties);
+        ReflectionTestUtils.setField(bus, "eventPublisher", eventPublisher);
+        ReflectionTestUtils.setField(bus, "dispatcher", dispatcher);
+        ReflectionTestUtils.setField(bus, "transportProvider", new StaticListableBeanFactory().getBeanProvider(StarBotRedisStreamTransport.class));
+        ReflectionTestUtils.setField(bus, "recorder", new StarBotEventRecorder());
+    }
+
+    @AfterEach
+    void tearDown() {
+        bus.destroy();
+    }
+
+    @Test
+    void wakesParkedConsumer() throws InterruptedException {
+        bus.init();
+        Thread consumer = consumerThread();
+
+        for (int round = 0; round < 3; round++) {
+            awaitParked(consumer);
+            StarBotExternalBaseEvent event = event(round);
+            bus.publish(event);
+            assertSame(event, dispatched.poll(5, TimeUnit.SECONDS), "挂起的消费线程未被唤醒");
+        }
+    }
+
+    @Test
+    void deliversInOrderAcrossWrapAround() throws InterruptedException {
+        bus.init();
+
+        // 发布数量远超缓冲区容量，发布线程需等待消费线程腾出空位
+        for (int i = 0; i < 100; i++) {
+            bus.publish(event(i));
+        }
+        for (int i = 0; i < 100; i++) {
+            StarBotExternalBaseEvent event = dispatched.poll(5, TimeUnit.SECONDS);
+            assertNotNull(event);
+            assertEquals(i, ((DanmuEvent) event).getSender().getUid());
+        }
+        assertEquals(100, bus.getPublishedCount());
+        assertEquals(0, bus.getBacklog());
+    }
+
+    @Test
+    void publishesDirectlyWhenDisabled() {
+        properties.getEventBus().setEnabled(false);
+        bus.init();
+
+        StarBotExternalBaseEvent event = event(0);
+        bus.publish(event);
+
+        verify(eventPublisher).publishEvent(event);
+        assertTrue(dispatched.isEmpty());
+    }
+
+    private Thread consumerThread() {
+        List<?> consumers = (List<?>) ReflectionTestUtils.getField(bus, "consumers");
+        return (Thread) ReflectionTestUtils.getField(consumers.get(0), "thread");
+    }
+
+    private static void awaitParked(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.WAITING) {
+            assertTrue(System.nanoTime() < deadline, "消费线程未进入挂起状态");
+            Thread.sleep(1);
+        }
+    }
+
+    private static StarBotExternalBaseEvent event(long uid) {
+        return new DanmuEvent(LivePlatform.BILIBILI.getName(), new LiveStreamerInfo(1L, "主播", 100L), new UserInfo(uid, "观众"), "弹幕", "弹幕");
+    }
+}
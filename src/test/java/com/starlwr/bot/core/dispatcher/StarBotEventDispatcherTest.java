@@ -0,0 +1,259 @@
+package com.starlwr.bot.core.dispatcher;
+
+import com.alibaba.fastjson2.JSONObject;
+import com.starlwr.bot.core.config.StarBotCoreProperties;
+import com.starlwr.bot.core.enums.LivePlatform;
+import com.starlwr.bot.core.event.StarBotExternalBaseEvent;
+import com.starlwr.bot.core.event.live.common.DanmuEvent;
+import com.starlwr.bot.core.event.live.common.LikeEvent;
+import com.starlwr.bot.core.handler.StarBotBatchEventHandler;
+import com.starlwr.bot.core.handler.StarBotEventHandler;
+import com.starlwr.bot.core.model.LiveStreamerInfo;
+import com.starlwr.bot.core.model.PushMessage;
+import com.starlwr.bot.core.model.PushTarget;
+import com.starlwr.bot.core.model.UserInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StarBotEventDispatcherTest {
+    private static final String PLATFORM = LivePlatform.BILIBILI.getName();
+
+    private static final LiveStreamerInfo STREAMER = new LiveStreamerInfo(1L, "主播", 100L);
+
+    private final StarBotCoreProperties properties = new StarBotCoreProperties();
+
+    private final StarBotEventRouter router = mock(StarBotEventRouter.class);
+
+    private final StarBotEventRouter.UserRoute route = mock(StarBotEventRouter.UserRoute.class);
+
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+    private StarBotEventDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        executor.initialize();
+        when(router.resolve(anyString(), anyLong())).thenReturn(route);
+        when(route.matchKeywords(any())).thenReturn(java.util.Set.of());
+
+        properties.getEventLane().setEnabled(true);
+        properties.getEventLane().setMaxWorkers(1);
+        properties.getEventLane().setLowCapacity(1);
+
+        dispatcher = new StarBotEventDispatcher();
+        ReflectionTestUtils.setField(dispatcher, "properties", properties);
+        ReflectionTestUtils.setField(dispatcher, "router", router);
+        ReflectionTestUtils.setField(dispatcher, "executor", executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.destroy();
+        executor.shutdown();
+    }
+
+    @Test
+    void batchFlushesAgainAfterRejectedFlush() throws InterruptedException {
+        CountDownLatch firstBuffered = new CountDownLatch(1);
+        List<List<StarBotExternalBaseEvent>> batches = new CopyOnWriteArrayList<>();
+        CountDownLatch secondBatch = new CountDownLatch(1);
+        StarBotBatchEventHandler batchHandler = new StarBotBatchEventHandler() {
+            @Override
+            public void handleBatch(List<StarBotExternalBaseEvent> events, PushMessage pushMessage) {
+                batches.add(events);
+                secondBatch.countDown();
+            }
+
+            @Override
+            public long getMaxBatchDelayMillis() {
+                return 200;
+            }
+
+            @Override
+            public JSONObject getDefaultParams() {
+                return new JSONObject();
+            }
+        };
+        StarBotEventSubscription batchSubscription = subscription(batchHandler, event -> {
+            firstBuffered.countDown();
+            return true;
+        });
+
+        CountDownLatch blockerStarted = new CountDownLatch(1);
+        CountDownLatch releaseBlocker = new CountDownLatch(1);
+        StarBotEventSubscription blocker = subscription(handler(() -> {
+            blockerStarted.countDown();
+            try {
+                releaseBlocker.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }), null);
+
+        when(route.get(LikeEvent.class)).thenReturn(List.of(batchSubscription));
+        when(route.get(DanmuEvent.class)).thenReturn(List.of(blocker));
+        dispatcher.init();
+
+        CountDownLatch firstCompleted = new CountDownLatch(1);
+        LikeEvent first = new LikeEvent(PLATFORM, STREAMER, new UserInfo(2L, "观众"));
+        dispatcher.dispatch(first, firstCompleted::countDown);
+        assertTrue(firstBuffered.await(5, TimeUnit.SECONDS));
+
+        // 占用唯一的工作线程并填满低优先级通道，使第一个批次的延时刷新被拒绝
+        dispatcher.dispatch(new DanmuEvent(PLATFORM, STREAMER, new UserInfo(3L, "观众"), "弹幕", "弹幕"));
+        assertTrue(blockerStarted.await(5, TimeUnit.SECONDS));
+        LikeEvent second = new LikeEvent(PLATFORM, STREAMER, new UserInfo(4L, "观众"));
+        dispatcher.dispatch(second);
+
+        assertTrue(firstCompleted.await(5, TimeUnit.SECONDS), "被拒绝的批次未释放完成跟踪");
+        assertEquals(1, dispatcher.getDroppedCount(StarBotEventLane.LOW));
+
+        releaseBlocker.countDown();
+        assertTrue(secondBatch.await(5, TimeUnit.SECONDS), "刷新被拒绝后缓冲区未被重置");
+        assertEquals(List.of(List.of(second)), batches);
+    }
+
+    @Test
+    void throttleFlushesAgainAfterRejectedFlush() throws InterruptedException {
+        List<StarBotExternalBaseEvent> handled = new CopyOnWriteArrayList<>();
+        List<List<StarBotExternalBaseEvent>> summaries = new CopyOnWriteArrayList<>();
+        CountDownLatch summarized = new CountDownLatch(1);
+        StarBotEventSubscription throttled = subscription(throttledHandler(handled, summaries, summarized), null, new StarBotEventThrottle.Limit(1, 500));
+
+        CountDownLatch blockerStarted = new CountDownLatch(1);
+        CountDownLatch releaseBlocker = new CountDownLatch(1);
+        StarBotEventSubscription blocker = subscription(handler(() -> {
+            blockerStarted.countDown();
+            try {
+                releaseBlocker.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }), null);
+
+        when(route.get(LikeEvent.class)).thenReturn(List.of(throttled));
+        when(route.get(DanmuEvent.class)).thenReturn(List.of(blocker));
+        dispatcher.init();
+
+        LikeEvent first = like(2L);
+        dispatcher.dispatch(first);
+        awaitCondition(() -> handled.contains(first));
+        CountDownLatch suppressedCompleted = new CountDownLatch(1);
+        dispatcher.dispatch(like(3L), suppressedCompleted::countDown);
+        awaitCondition(() -> dispatcher.getThrottledCount() == 1);
+
+        // 占用唯一的工作线程并填满低优先级通道，使节流窗口的汇总处理被拒绝
+        dispatcher.dispatch(new DanmuEvent(PLATFORM, STREAMER, new UserInfo(4L, "观众"), "弹幕", "弹幕"));
+        assertTrue(blockerStarted.await(5, TimeUnit.SECONDS));
+        LikeEvent passed = like(5L);
+        dispatcher.dispatch(passed);
+
+        assertTrue(suppressedCompleted.await(5, TimeUnit.SECONDS), "被拒绝的汇总处理未释放完成跟踪");
+        assertEquals(1, dispatcher.getDroppedCount(StarBotEventLane.LOW));
+
+        releaseBlocker.countDown();
+        awaitCondition(() -> handled.contains(passed));
+        LikeEvent next = like(6L);
+        dispatcher.dispatch(next);
+
+        assertTrue(summarized.await(5, TimeUnit.SECONDS), "汇总处理被拒绝后节流窗口未被重置");
+        assertEquals(List.of(List.of(next)), summaries);
+    }
+
+    @Test
+    void throttledEventsAreSummarizedWithCount() throws InterruptedException {
+        properties.getEventLane().setEnabled(false);
+        List<StarBotExternalBaseEvent> handled = new CopyOnWriteArrayList<>();
+        List<List<StarBotExternalBaseEvent>> summaries = new CopyOnWriteArrayList<>();
+        CountDownLatch summarized = new CountDownLatch(1);
+        StarBotEventSubscription throttled = subscription(throttledHandler(handled, summaries, summarized), null, new StarBotEventThrottle.Limit(1, 200));
+        when(route.get(LikeEvent.class)).thenReturn(List.of(throttled));
+        dispatcher.init();
+
+        List<LikeEvent> events = List.of(like(2L), like(3L), like(4L), like(5L));
+        CountDownLatch completed = new CountDownLatch(events.size());
+        events.forEach(event -> dispatcher.dispatch(event, completed::countDown));
+
+        assertTrue(summarized.await(5, TimeUnit.SECONDS));
+        assertTrue(completed.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(events.get(0)), handled);
+        assertEquals(List.of(events.subList(1, 4)), summaries);
+        assertEquals(3, dispatcher.getThrottledCount());
+    }
+
+    private static StarBotEventSubscription subscription(StarBotEventHandler handler, Predicate<StarBotExternalBaseEvent> filter) {
+        return subscription(handler, filter, null);
+    }
+
+    private static StarBotEventSubscription subscription(StarBotEventHandler handler, Predicate<StarBotExternalBaseEvent> filter, StarBotEventThrottle.Limit throttleLimit) {
+        PushTarget target = new PushTarget();
+        PushMessage message = new PushMessage();
+        message.setTarget(target);
+        message.setParamsJsonObject(new JSONObject());
+        message.setEventFilter(filter);
+        return new StarBotEventSubscription(message, handler, throttleLimit);
+    }
+
+    private static StarBotEventHandler throttledHandler(List<StarBotExternalBaseEvent> handled, List<List<StarBotExternalBaseEvent>> summaries, CountDownLatch summarized) {
+        return new StarBotEventHandler() {
+            @Override
+            public void handle(StarBotExternalBaseEvent baseEvent, PushMessage pushMessage) {
+                handled.add(baseEvent);
+            }
+
+            @Override
+            public void handleThrottled(List<StarBotExternalBaseEvent> baseEvents, PushMessage pushMessage) {
+                summaries.add(baseEvents);
+                summarized.countDown();
+            }
+
+            @Override
+            public JSONObject getDefaultParams() {
+                return new JSONObject();
+            }
+        };
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "等待条件超时");
+            Thread.sleep(10);
+        }
+    }
+
+    private static LikeEvent like(long uid) {
+        return new LikeEvent(PLATFORM, STREAMER, new UserInfo(uid, "观众"));
+    }
+
+    private static StarBotEventHandler handler(Runnable action) {
+        return new StarBotEventHandler() {
+            @Override
+            public void handle(StarBotExternalBaseEvent baseEvent, PushMessage pushMessage) {
+                action.run();
+            }
+
+            @Override
+            public JSONObject getDefaultParams() {
+                return new JSONObject();
+            }
+        };
+    }
+}
@@ -0,0 +1,61 @@
+package com.starlwr.bot.core.dispatcher;
+
+import com.alibaba.fastjson2.JSON;
+import com.starlwr.bot.core.enums.LivePlatform;
+import com.starlwr.bot.core.event.StarBotExternalBaseEvent;
+import com.starlwr.bot.core.event.live.common.DanmuEvent;
+import com.starlwr.bot.core.model.LiveStreamerInfo;
+import com.starlwr.bot.core.model.UserInfo;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StarBotEventFilterTest {
+    private static final LiveStreamerInfo STREAMER = new LiveStreamerInfo(1L, "主播", 100L);
+
+    @Test
+    void filtersBySenderUid() {
+        Predicate<StarBotExternalBaseEvent> include = compile("{\"uids\": [2, 3]}");
+        Predicate<StarBotExternalBaseEvent> exclude = compile("{\"exclude_uids\": [2]}");
+
+        assertTrue(include.test(danmu(2L, "观众", "弹幕")));
+        assertFalse(include.test(danmu(4L, "观众", "弹幕")));
+        assertFalse(exclude.test(danmu(2L, "观众", "弹幕")));
+        assertTrue(exclude.test(danmu(4L, "观众", "弹幕")));
+    }
+
+    @Test
+    void resolvesGettersOfEventFields() {
+        Predicate<StarBotExternalBaseEvent> filter = compile("{\"conditions\": [{\"field\": \"sender.uname\", \"op\": \"ne\", \"value\": \"test\"}]}");
+
+        assertTrue(filter.test(danmu(2L, "观众", "弹幕")));
+        assertFalse(filter.test(danmu(2L, "test", "弹幕")));
+    }
+
+    @Test
+    void resolvesGettersDeclaredOnJdkTypes() {
+        Predicate<StarBotExternalBaseEvent> blank = compile("{\"conditions\": [{\"field\": \"content.blank\", \"op\": \"eq\", \"value\": false}]}");
+        Predicate<StarBotExternalBaseEvent> bytes = compile("{\"conditions\": [{\"field\": \"content.bytes.length\", \"op\": \"ge\", \"value\": 0}]}");
+
+        assertTrue(blank.test(danmu(2L, "观众", "弹幕")));
+        assertFalse(blank.test(danmu(2L, "观众", " ")));
+        // 数组的 length 不是 Getter 方法，字段不存在时视为不满足
+        assertFalse(bytes.test(danmu(2L, "观众", "弹幕")));
+    }
+
+    @Test
+    void rejectsUnknownOptions() {
+        assertThrows(IllegalArgumentException.class, () -> compile("{\"unknown\": 1}"));
+        assertThrows(IllegalArgumentException.class, () -> compile("{\"conditions\": [{\"field\": \"content\", \"op\": \"like\", \"value\": 1}]}"));
+    }
+
+    private static Predicate<StarBotExternalBaseEvent> compile(String filter) {
+        return StarBotEventFilter.compile(JSON.parseObject(filter));
+    }
+
+    private static DanmuEvent danmu(long uid, String uname, String content) {
+        return new DanmuEvent(LivePlatform.BILIBILI.getName(), STREAMER, new UserInfo(uid, uname), content);
+    }
+}
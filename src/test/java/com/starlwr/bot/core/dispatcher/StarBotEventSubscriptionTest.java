@@ -0,0 +1,43 @@
+package com.starlwr.bot.core.dispatcher;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONObject;
+import com.starlwr.bot.core.event.StarBotExternalBaseEvent;
+import com.starlwr.bot.core.handler.StarBotEventHandler;
+import com.starlwr.bot.core.model.PushMessage;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StarBotEventSubscriptionTest {
+    private static final StarBotEventHandler HANDLER = new StarBotEventHandler() {
+        @Override
+        public void handle(StarBotExternalBaseEvent baseEvent, PushMessage pushMessage) {
+        }
+
+        @Override
+        public JSONObject getDefaultParams() {
+            return new JSONObject();
+        }
+    };
+
+    @Test
+    void parsesKeywords() {
+        assertEquals(List.of("上舰", "1"), subscription("{\"keywords\": [\"上舰\", \"\", null, 1]}").getKeywords());
+    }
+
+    @Test
+    void treatsMissingOrEmptyKeywordsAsNoFilter() {
+        assertNull(subscription("{}").getKeywords());
+        assertNull(subscription("{\"keywords\": []}").getKeywords());
+        assertNull(subscription("{\"keywords\": [\"\", null]}").getKeywords());
+    }
+
+    private static StarBotEventSubscription subscription(String params) {
+        PushMessage message = new PushMessage();
+        message.setParamsJsonObject(JSON.parseObject(params));
+        return new StarBotEventSubscription(message, HANDLER);
+    }
+}
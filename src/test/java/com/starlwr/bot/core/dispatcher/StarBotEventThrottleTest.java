@@ -0,0 +1,83 @@
+package com.starlwr.bot.core.dispatcher;
+
+import com.alibaba.fastjson2.JSONObject;
+import com.starlwr.bot.core.enums.LivePlatform;
+import com.starlwr.bot.core.event.StarBotExternalBaseEvent;
+import com.starlwr.bot.core.event.live.common.LikeEvent;
+import com.starlwr.bot.core.handler.StarBotEventHandler;
+import com.starlwr.bot.core.model.LiveStreamerInfo;
+import com.starlwr.bot.core.model.PushMessage;
+import com.starlwr.bot.core.model.PushTarget;
+import com.starlwr.bot.core.model.UserInfo;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StarBotEventThrottleTest {
+    private final StarBotEventThrottle throttle = new StarBotEventThrottle();
+
+    @Test
+    void accumulatesEventsAboveLimit() {
+        StarBotEventSubscription subscription = subscription(1L, new StarBotEventThrottle.Limit(2, 60000));
+        List<LikeEvent> events = List.of(like(1L), like(2L), like(3L), like(4L));
+
+        assertEquals(StarBotEventThrottle.Admission.PASSED, throttle.offer(subscription, events.get(0), null));
+        assertEquals(StarBotEventThrottle.Admission.PASSED, throttle.offer(subscription, events.get(1), null));
+        assertEquals(StarBotEventThrottle.Admission.FIRST_THROTTLED, throttle.offer(subscription, events.get(2), null));
+        assertEquals(StarBotEventThrottle.Admission.THROTTLED, throttle.offer(subscription, events.get(3), null));
+
+        StarBotEventThrottle.Drained drained = throttle.drain(subscription.getMessage().getTarget(), LikeEvent.class);
+        assertEquals(List.of(events.get(2), events.get(3)), drained.pending().get(subscription));
+        assertTrue(throttle.drain(subscription.getMessage().getTarget(), LikeEvent.class).pending().isEmpty());
+    }
+
+    @Test
+    void evictsOnlyEndedWindowsWithoutPendingEvents() throws InterruptedException {
+        StarBotEventSubscription shortWindow = subscription(1L, new StarBotEventThrottle.Limit(1, 20));
+        StarBotEventSubscription pending = subscription(2L, new StarBotEventThrottle.Limit(1, 20));
+        StarBotEventSubscription longWindow = subscription(3L, new StarBotEventThrottle.Limit(1, 60000));
+
+        throttle.offer(shortWindow, like(1L), null);
+        throttle.offer(pending, like(1L), null);
+        assertEquals(StarBotEventThrottle.Admission.FIRST_THROTTLED, throttle.offer(pending, like(2L), null));
+        throttle.offer(longWindow, like(1L), null);
+        assertEquals(3, throttle.getWindowCount());
+
+        Thread.sleep(50);
+        assertEquals(1, throttle.evictIdle());
+        assertEquals(2, throttle.getWindowCount());
+
+        // 累积的事件被取出后窗口即可被移除
+        throttle.drain(pending.getMessage().getTarget(), LikeEvent.class);
+        assertEquals(1, throttle.evictIdle());
+        assertEquals(1, throttle.getWindowCount());
+
+        // 被移除的推送目标再次收到事件时重新开启窗口
+        assertEquals(StarBotEventThrottle.Admission.PASSED, throttle.offer(shortWindow, like(3L), null));
+        assertEquals(2, throttle.getWindowCount());
+    }
+
+    private static StarBotEventSubscription subscription(long num, StarBotEventThrottle.Limit limit) {
+        PushTarget target = new PushTarget();
+        target.setNum(num);
+        PushMessage message = new PushMessage();
+        message.setTarget(target);
+        message.setParamsJsonObject(new JSONObject());
+        return new StarBotEventSubscription(message, new StarBotEventHandler() {
+            @Override
+            public void handle(StarBotExternalBaseEvent baseEvent, PushMessage pushMessage) {
+            }
+
+            @Override
+            public JSONObject getDefaultParams() {
+                return new JSONObject();
+            }
+        }, limit);
+    }
+
+    private static LikeEvent like(long uid) {
+        return new LikeEvent(LivePlatform.BILIBILI.getName(), new LiveStreamerInfo(1L, "主播", 100L), new UserInfo(uid, "观众"));
+    }
+}
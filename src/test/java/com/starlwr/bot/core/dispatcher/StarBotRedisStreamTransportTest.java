@@ -0,0 +1,188 @@
+package com.starlwr.bot.core.dispatcher;
+
+import com.starlwr.bot.core.codec.StarBotEventCodec;
+import com.starlwr.bot.core.config.StarBotCoreProperties;
+import com.starlwr.bot.core.enums.LivePlatform;
+import com.starlwr.bot.core.event.StarBotExternalBaseEvent;
+import com.starlwr.bot.core.event.live.common.DanmuEvent;
+import com.starlwr.bot.core.model.LiveStreamerInfo;
+import com.starlwr.bot.core.model.UserInfo;
+import com.starlwr.bot.core.service.RedisService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.connection.stream.*;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 需要本地 Redis (localhost:6379)，未运行时跳过
+ */
+class StarBotRedisStreamTransportTest {
+    private static final String GROUP = "starbot-test";
+
+    private final StarBotCoreProperties properties = new StarBotCoreProperties();
+
+    private final StarBotEventDispatcher dispatcher = mock(StarBotEventDispatcher.class);
+
+    private final BlockingQueue<Dispatched> dispatched = new LinkedBlockingQueue<>();
+
+    private final String key = "starbot:test:events:" + UUID.randomUUID();
+
+    private LettuceConnectionFactory factory;
+
+    private StringRedisTemplate redis;
+
+    private StarBotRedisStreamTransport transport;
+
+    @BeforeEach
+    void setUp() {
+        factory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", 6379));
+        factory.afterPropertiesSet();
+        factory.start();
+        boolean available;
+        try {
+            factory.getConnection().ping();
+            available = true;
+        } catch (Exception e) {
+            available = false;
+        }
+        assumeTrue(available, "本地 Redis 未运行");
+        redis = new StringRedisTemplate(factory);
+
+        doAnswer(invocation -> dispatched.add(new Dispatched(invocation.getArgument(0), invocation.getArgument(1)))).when(dispatcher).dispatch(any(StarBotExternalBaseEvent.class), any(Runnable.class));
+        RedisService redisService = mock(RedisService.class);
+        when(redisService.getTemplate()).thenReturn(redis);
+
+        StarBotCoreProperties.RedisStream config = properties.getRedisStream();
+        config.setEnabled(true);
+        config.setKey(key);
+        config.setGroup(GROUP);
+        config.setConsumer("test-node");
+        config.setBlockMillis(100);
+        config.setReclaimIdleMillis(100);
+        config.setReclaimIntervalMillis(60000);
+        config.setAckIntervalMillis(20);
+
+        transport = new StarBotRedisStreamTransport();
+        ReflectionTestUtils.setField(transport, "properties", properties);
+        ReflectionTestUtils.setField(transport, "redisService", redisService);
+        ReflectionTestUtils.setField(transport, "dispatcher", dispatcher);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (redis != null) {
+            transport.destroy();
+            redis.delete(key);
+        }
+        factory.destroy();
+    }
+
+    @Test
+    void acknowledgesAfterHandlersComplete() throws InterruptedException {
+        transport.init();
+
+        DanmuEvent event = danmu(2L);
+        transport.publish(event);
+
+        Dispatched received = dispatched.poll(5, TimeUnit.SECONDS);
+        assertNotNull(received);
+        DanmuEvent decoded = assertInstanceOf(DanmuEvent.class, received.event());
+        assertEquals(event.getSender().getUid(), decoded.getSender().getUid());
+        assertEquals(event.getContent(), decoded.getContent());
+
+        // 事件处理器调用结束前不确认
+        Thread.sleep(100);
+        assertEquals(1, pendingCount());
+
+        received.onComplete().run();
+        awaitCondition(() -> pendingCount() == 0);
+        assertEquals(1, transport.getPublishedCount());
+        assertEquals(1, transport.getConsumedCount());
+    }
+
+    @Test
+    void reclaimPagesPastLocallyInFlightEntries() throws InterruptedException {
+        properties.getRedisStream().setConsumers(0);
+        properties.getRedisStream().setBatchSize(2);
+        transport.init();
+
+        List<RecordId> ids = new ArrayList<>();
+        for (long uid = 1; uid <= 5; uid++) {
+            ids.add(add(danmu(uid)));
+        }
+        // 其它节点读取后宕机，事件一直未确认
+        List<ByteRecord> delivered = redis.execute((RedisCallback<List<ByteRecord>>) connection -> connection.streamCommands()
+                .xReadGroup(Consumer.from(GROUP, "dead-node"), StreamReadOptions.empty().count(10), StreamOffset.create(key.getBytes(StandardCharsets.UTF_8), ReadOffset.lastConsumed())));
+        assertEquals(5, delivered.size());
+
+        // 最旧的两个事件在本节点处理中，不应阻碍之后的事件被认领
+        @SuppressWarnings("unchecked")
+        Set<RecordId> inFlight = (Set<RecordId>) ReflectionTestUtils.getField(transport, "inFlight");
+        inFlight.add(ids.get(0));
+        inFlight.add(ids.get(1));
+        Thread.sleep(150);
+
+        ReflectionTestUtils.invokeMethod(transport, "reclaim");
+        assertEquals(List.of(3L, 4L), drainSenderUids());
+
+        ReflectionTestUtils.invokeMethod(transport, "reclaim");
+        assertEquals(List.of(5L), drainSenderUids());
+        assertEquals(3, transport.getReclaimedCount());
+    }
+
+    private RecordId add(StarBotExternalBaseEvent event) {
+        ByteRecord record = StreamRecords.rawBytes(Map.of("e".getBytes(StandardCharsets.UTF_8), StarBotEventCodec.encode(event))).withStreamKey(key.getBytes(StandardCharsets.UTF_8));
+        return redis.execute((RedisCallback<RecordId>) connection -> connection.streamCommands().xAdd(record));
+    }
+
+    private long pendingCount() {
+        PendingMessages pending = redis.execute((RedisCallback<PendingMessages>) connection -> connection.streamCommands()
+                .xPending(key.getBytes(StandardCharsets.UTF_8), GROUP, Range.unbounded(), 100L));
+        return pending != null ? pending.size() : 0;
+    }
+
+    private List<Long> drainSenderUids() {
+        List<Long> uids = new ArrayList<>();
+        Dispatched received;
+        while ((received = dispatched.poll()) != null) {
+            uids.add(((DanmuEvent) received.event()).getSender().getUid());
+            received.onComplete().run();
+        }
+        return uids;
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "等待条件超时");
+            Thread.sleep(10);
+        }
+    }
+
+    private static DanmuEvent danmu(long uid) {
+        return new DanmuEvent(LivePlatform.BILIBILI.getName(), new LiveStreamerInfo(1L, "主播", 100L), new UserInfo(uid, "观众"), "弹幕");
+    }
+
+    private record Dispatched(StarBotExternalBaseEvent event, Runnable onComplete) {
+    }
+}
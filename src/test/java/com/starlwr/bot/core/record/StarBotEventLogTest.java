@@ -0,0 +1,92 @@
+package com.starlwr.bot.core.record;
+
+import com.alibaba.fastjson2.JSONB;
+import com.starlwr.bot.core.enums.LivePlatform;
+import com.starlwr.bot.core.event.live.common.DanmuEvent;
+import com.starlwr.bot.core.event.live.common.LikeUpdateEvent;
+import com.starlwr.bot.core.model.LiveStreamerInfo;
+import com.starlwr.bot.core.model.UserInfo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StarBotEventLogTest {
+    private static final Instant INSTANT = Instant.ofEpochMilli(1700000000123L);
+
+    private static final LiveStreamerInfo STREAMER = new LiveStreamerInfo(1001L, "主播", 2002L);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsCurrentVersion() throws IOException {
+        DanmuEvent event = new DanmuEvent(LivePlatform.BILIBILI.getName(), STREAMER, new UserInfo(3003L, "观众"), "你好", INSTANT);
+        Path file = directory.resolve("current" + StarBotEventLog.EXTENSION);
+        try (DataOutputStream output = new DataOutputStream(Files.newOutputStream(file))) {
+            StarBotEventLog.writeHeader(output);
+            StarBotEventLog.writeRecord(output, 42L, event);
+        }
+
+        List<StarBotEventLog.Entry> entries;
+        try (StarBotEventLog.Reader reader = new StarBotEventLog.Reader(file)) {
+            entries = reader.readAll();
+        }
+
+        assertEquals(1, entries.size());
+        assertEquals(42L, entries.get(0).arrivalMillis());
+        DanmuEvent decoded = assertInstanceOf(DanmuEvent.class, entries.get(0).event());
+        assertEquals(event.getTimestamp(), decoded.getTimestamp());
+        assertEquals("你好", decoded.getContent());
+        assertEquals(3003L, decoded.getSender().getUid());
+    }
+
+    @Test
+    void readsVersionOneJsonbLog() throws IOException {
+        LikeUpdateEvent event = new LikeUpdateEvent(LivePlatform.BILIBILI.getName(), STREAMER, 777, INSTANT);
+        Path file = directory.resolve("v1" + StarBotEventLog.EXTENSION);
+        try (DataOutputStream output = new DataOutputStream(Files.newOutputStream(file))) {
+            output.writeInt(0x53424C47);
+            output.writeInt(1);
+            byte[] data = JSONB.toBytes(event);
+            output.writeLong(42L);
+            output.writeLong(event.getTimestamp());
+            output.writeUTF(event.getClass().getName());
+            output.writeInt(data.length);
+            output.write(data);
+        }
+
+        List<StarBotEventLog.Entry> entries;
+        try (StarBotEventLog.Reader reader = new StarBotEventLog.Reader(file)) {
+            entries = reader.readAll();
+        }
+
+        assertEquals(1, entries.size());
+        LikeUpdateEvent decoded = assertInstanceOf(LikeUpdateEvent.class, entries.get(0).event());
+        assertEquals(event.getTimestamp(), decoded.getTimestamp());
+        assertEquals(777, decoded.getCount());
+        assertEquals(2002L, decoded.getSource().getRoomId());
+    }
+
+    @Test
+    void ignoresTruncatedLastRecord() throws IOException {
+        Path file = directory.resolve("truncated" + StarBotEventLog.EXTENSION);
+        try (DataOutputStream output = new DataOutputStream(Files.newOutputStream(file))) {
+            StarBotEventLog.writeHeader(output);
+            StarBotEventLog.writeRecord(output, 1L, new LikeUpdateEvent(LivePlatform.BILIBILI.getName(), STREAMER, 1, INSTANT));
+            output.writeLong(2L);
+            output.writeInt(100);
+        }
+
+        try (StarBotEventLog.Reader reader = new StarBotEventLog.Reader(file)) {
+            assertEquals(1, reader.readAll().size());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.starlwr.bot.core.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AhoCorasickTest {
+    @Test
+    void matchesOverlappingPatterns() {
+        AhoCorasick<String> automaton = automaton("he", "she", "his", "hers");
+
+        List<String> hits = new ArrayList<>();
+        automaton.match("ushers", hits::add);
+
+        // "she" 与 "he" 在同一位置结束，"hers" 与二者重叠
+        assertEquals(List.of("she", "he", "hers"), hits);
+        assertEquals(Set.of("his"), automaton.matchAll("this"));
+    }
+
+    @Test
+    void followsFailureLinks() {
+        AhoCorasick<String> automaton = automaton("abcd", "bce", "c");
+
+        // 读到 "abc" 后遇到 'e' 失配，需经失配转移至 "bc" 才能命中 "bce"
+        assertEquals(Set.of("bce", "c"), automaton.matchAll("abce"));
+        assertEquals(Set.of("abcd", "c"), automaton.matchAll("xabcd"));
+        assertEquals(Set.of(), automaton.matchAll("abd"));
+    }
+
+    @Test
+    void reportsEveryOccurrence() {
+        AhoCorasick<String> automaton = automaton("aa", "礼物");
+
+        List<String> hits = new ArrayList<>();
+        automaton.match("aaaa 感谢礼物礼物", hits::add);
+
+        assertEquals(List.of("aa", "aa", "aa", "礼物", "礼物"), hits);
+    }
+
+    @Test
+    void ignoresEmptyKeywords() {
+        Map<String, List<String>> keywords = new LinkedHashMap<>();
+        keywords.put("", List.of("empty"));
+        keywords.put("a", List.of("a"));
+        AhoCorasick<String> automaton = new AhoCorasick<>(keywords);
+
+        assertEquals(2, automaton.getStateCount());
+        assertEquals(Set.of(), automaton.matchAll("bcd"));
+        assertEquals(Set.of("a"), automaton.matchAll("bad"));
+    }
+
+    @Test
+    void mergesPayloadsOfSameKeyword() {
+        Map<String, List<Integer>> keywords = new LinkedHashMap<>();
+        keywords.put("上舰", List.of(1, 2));
+        keywords.put("舰", List.of(3));
+        AhoCorasick<Integer> automaton = new AhoCorasick<>(keywords);
+
+        assertEquals(Set.of(1, 2, 3), automaton.matchAll("恭喜上舰"));
+        assertEquals(Set.of(3), automaton.matchAll("舰长"));
+    }
+
+    private static AhoCorasick<String> automaton(String... keywords) {
+        Map<String, List<String>> index = new LinkedHashMap<>();
+        for (String keyword : keywords) {
+            index.put(keyword, List.of(keyword));
+        }
+        return new AhoCorasick<>(index);
+    }
+}
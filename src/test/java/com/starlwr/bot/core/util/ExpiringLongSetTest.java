@@ -0,0 +1,67 @@
+package com.starlwr.bot.core.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpiringLongSetTest {
+    private static final long START = 1_000_000L;
+
+    @Test
+    void keepsElementsForAtLeastOneWindow() {
+        ExpiringLongSet set = new ExpiringLongSet(2, 100, 100);
+
+        assertTrue(set.add(42L, START));
+        assertFalse(set.add(42L, START + 50));
+
+        // 轮转至新的一代后，上一代中的元素仍然存在
+        assertFalse(set.add(42L, START + 150));
+        assertTrue(set.contains(42L));
+
+        // 再次轮转后，最旧一代被清空
+        assertTrue(set.add(7L, START + 300));
+        assertFalse(set.contains(42L));
+        assertTrue(set.add(42L, START + 301));
+    }
+
+    @Test
+    void rotatesWhenGenerationIsFull() {
+        ExpiringLongSet set = new ExpiringLongSet(2, 2, 60000);
+
+        assertTrue(set.add(1L, START));
+        assertTrue(set.add(2L, START));
+        assertTrue(set.add(3L, START));
+        assertTrue(set.add(4L, START));
+        assertEquals(4, set.size());
+
+        // 当前代已满，轮转时最旧一代的 1 与 2 被清空
+        assertTrue(set.add(5L, START));
+        assertFalse(set.contains(1L));
+        assertFalse(set.contains(2L));
+        assertTrue(set.contains(3L));
+        assertTrue(set.contains(4L));
+        assertTrue(set.contains(5L));
+        assertEquals(3, set.size());
+    }
+
+    @Test
+    void handlesCollidingAndZeroValues() {
+        ExpiringLongSet set = new ExpiringLongSet(2, 1000, 60000);
+
+        assertTrue(set.add(0L, START));
+        assertTrue(set.contains(0L));
+        for (long i = 2; i < 1000; i++) {
+            assertTrue(set.add(i << 32, START));
+        }
+        for (long i = 2; i < 1000; i++) {
+            assertTrue(set.contains(i << 32));
+            assertFalse(set.contains((i << 32) + 1));
+        }
+    }
+
+    @Test
+    void rejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ExpiringLongSet(1, 10, 1000));
+        assertThrows(IllegalArgumentException.class, () -> new ExpiringLongSet(2, 0, 1000));
+    }
+}
@@ -0,0 +1,98 @@
+package com.starlwr.bot.core.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongObjectMapTest {
+    @Test
+    void removeShiftsBackClusterWrappingAroundTableEnd() {
+        LongObjectMap<String> map = new LongObjectMap<>(8);
+        // 三个键的理想位置为最后一个槽位，两个键的理想位置为第一个槽位，构成跨越数组末尾的探测链
+        List<Long> last = keysAt(map, 15, 3);
+        List<Long> first = keysAt(map, 0, 2);
+        List<Long> keys = new ArrayList<>(last);
+        keys.addAll(first);
+        for (long key : keys) {
+            map.put(key, "v" + key);
+        }
+        assertEquals(16, ((long[]) ReflectionTestUtils.getField(map, "keys")).length);
+
+        // 依次移除链头元素，其余元素须前移填补空位，否则将因探测遇到空位而无法找到
+        for (int i = 0; i < keys.size(); i++) {
+            assertEquals("v" + keys.get(i), map.remove(keys.get(i)));
+            assertNull(map.get(keys.get(i)));
+            for (int j = i + 1; j < keys.size(); j++) {
+                assertEquals("v" + keys.get(j), map.get(keys.get(j)), "移除后未能找到键 " + keys.get(j));
+            }
+            assertEquals(keys.size() - i - 1, map.size());
+            assertEquals(map.size(), map.values().size());
+        }
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void removeFromMiddleOfClusterKeepsElementsWithLaterIdealSlot() {
+        LongObjectMap<String> map = new LongObjectMap<>(8);
+        // 理想位置为 3 的两个键占据 3、4 号槽位，理想位置为 5 的两个键占据 5、6 号槽位，移除 4 号槽位的键后 5、6 号槽位的键不可前移
+        List<Long> keys = new ArrayList<>(keysAt(map, 3, 2));
+        keys.addAll(keysAt(map, 5, 2));
+        for (long key : keys) {
+            map.put(key, "v" + key);
+        }
+
+        assertEquals("v" + keys.get(1), map.remove(keys.get(1)));
+        for (long key : List.of(keys.get(0), keys.get(2), keys.get(3))) {
+            assertEquals("v" + key, map.get(key));
+        }
+        Object[] values = (Object[]) ReflectionTestUtils.getField(map, "values");
+        assertNull(values[4]);
+        assertEquals("v" + keys.get(2), values[5]);
+        assertEquals("v" + keys.get(3), values[6]);
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    void matchesHashMapUnderRandomOperations() {
+        LongObjectMap<Long> map = new LongObjectMap<>();
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            // 键范围较小，使删除与重新插入频繁发生在同一探测链上
+            long key = random.nextInt(512) - 256;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                long value = random.nextLong();
+                assertEquals(expected.put(key, value), map.put(key, value));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (long key = -256; key < 256; key++) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+    }
+
+    @Test
+    void rejectsNullValue() {
+        assertThrows(IllegalArgumentException.class, () -> new LongObjectMap<String>().put(1L, null));
+    }
+
+    private static List<Long> keysAt(LongObjectMap<?> map, int slot, int count) {
+        List<Long> keys = new ArrayList<>();
+        for (long key = 1; keys.size() < count; key++) {
+            Integer index = ReflectionTestUtils.invokeMethod(map, "index", key);
+            if (index != null && index == slot) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,59 @@
+package com.starlwr.bot.core.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PriorityLaneExecutorTest {
+    @Test
+    void rejectsPoolThatRunsRejectedTasksOnCaller() {
+        ThreadPoolExecutor callerRuns = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), (r, e) -> r.run());
+        assertThrows(IllegalArgumentException.class, () -> new PriorityLaneExecutor(callerRuns, 1, 10));
+        callerRuns.shutdown();
+
+        ThreadPoolExecutor pool = PriorityLaneExecutor.newWorkerPool(1, "test-lane-");
+        assertDoesNotThrow(() -> new PriorityLaneExecutor(pool, 1, 10));
+        pool.shutdown();
+    }
+
+    @Test
+    void drainsHigherLaneFirstAndNeverRejectsUnboundedLane() throws InterruptedException {
+        ThreadPoolExecutor pool = PriorityLaneExecutor.newWorkerPool(1, "test-lane-");
+        PriorityLaneExecutor executor = new PriorityLaneExecutor(pool, 1, Integer.MAX_VALUE, 1);
+
+        CountDownLatch release = new CountDownLatch(1);
+        assertTrue(executor.execute(1, () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+
+        List<String> executed = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(101);
+        // 等待首个任务被工作线程取出，使低优先级通道有空位
+        while (executor.getQueueSize(1) > 0) {
+            Thread.onSpinWait();
+        }
+        assertTrue(executor.execute(1, () -> {
+            executed.add("low");
+            done.countDown();
+        }));
+        assertFalse(executor.execute(1, () -> {}));
+        for (int i = 0; i < 100; i++) {
+            assertTrue(executor.execute(0, () -> {
+                executed.add("high");
+                done.countDown();
+            }));
+        }
+
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals("low", executed.get(executed.size() - 1));
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,88 @@
+package com.starlwr.bot.core.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RingBufferTest {
+    @Test
+    void roundsCapacityUpToPowerOfTwo() {
+        assertEquals(1, new RingBuffer<>(1).capacity());
+        assertEquals(8, new RingBuffer<>(5).capacity());
+        assertEquals(8, new RingBuffer<>(8).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new RingBuffer<>(0));
+    }
+
+    @Test
+    void wrapsAroundAfterManyCycles() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(4);
+        int next = 0;
+        for (int round = 0; round < 1000; round++) {
+            // 每轮写入数量与容量错开，使读写位置在不同槽位处回绕
+            int count = round % 4 + 1;
+            for (int i = 0; i < count; i++) {
+                assertTrue(buffer.offer(next + i));
+            }
+            assertEquals(count, buffer.size());
+            if (count == 4) {
+                assertFalse(buffer.offer(-1));
+            }
+            for (int i = 0; i < count; i++) {
+                assertEquals(next + i, buffer.poll());
+            }
+            assertNull(buffer.poll());
+            assertEquals(0, buffer.size());
+            next += count;
+        }
+    }
+
+    @Test
+    void keepsEveryElementUnderConcurrentAccess() throws InterruptedException {
+        RingBuffer<Long> buffer = new RingBuffer<>(64);
+        int producers = 4;
+        int perProducer = 20_000;
+        AtomicLong remaining = new AtomicLong((long) producers * perProducer);
+        LongAdder sum = new LongAdder();
+        CountDownLatch done = new CountDownLatch(producers + 2);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            long base = (long) p * perProducer;
+            threads.add(new Thread(() -> {
+                for (long i = 1; i <= perProducer; i++) {
+                    while (!buffer.offer(base + i)) {
+                        Thread.yield();
+                    }
+                }
+                done.countDown();
+            }));
+        }
+        for (int c = 0; c < 2; c++) {
+            threads.add(new Thread(() -> {
+                while (remaining.get() > 0) {
+                    Long element = buffer.poll();
+                    if (element == null) {
+                        Thread.yield();
+                        continue;
+                    }
+                    sum.add(element);
+                    remaining.decrementAndGet();
+                }
+                done.countDown();
+            }));
+        }
+        threads.forEach(Thread::start);
+
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        long n = (long) producers * perProducer;
+        assertEquals(n * (n + 1) / 2, sum.sum());
+        assertNull(buffer.poll());
+    }
+}
@@ -0,0 +1,62 @@
+package com.starlwr.bot.core.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StripedExecutorTest {
+    @Test
+    void keepsOrderOfSameKey() throws InterruptedException {
+        StripedExecutor executor = new StripedExecutor(4, 1000, "test-stripe-");
+        List<Integer> executed = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(100);
+        for (int i = 0; i < 100; i++) {
+            int value = i;
+            assertTrue(executor.execute(42, () -> {
+                executed.add(value);
+                done.countDown();
+            }));
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, executed.get(i));
+        }
+        executor.shutdown();
+    }
+
+    @Test
+    void dropsTaskWhenQueueStaysFull() throws InterruptedException {
+        StripedExecutor executor = new StripedExecutor(1, 1, 50, "test-stripe-");
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        assertTrue(executor.execute(0, () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertTrue(executor.execute(0, () -> {}));
+
+        long begin = System.nanoTime();
+        assertFalse(executor.execute(0, () -> {}));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin) >= 40);
+
+        StripedExecutor.StripeMetrics metrics = executor.getMetrics().get(0);
+        assertEquals(1, metrics.getBlockedTaskCount());
+        assertEquals(1, metrics.getDroppedTaskCount());
+
+        release.countDown();
+        executor.shutdown();
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(0, () -> {}));
+    }
+}